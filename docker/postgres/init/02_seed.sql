@@ -70,7 +70,9 @@ INSERT INTO "user" (username, password_hash)
 VALUES ('reader_doc', '$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki'),
        ('creator_doc', '$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki'),
        ('editor_doc', '$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki'),
-       ('protocol_master', '$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki')
+       ('protocol_master', '$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki'),
+       -- role OPS_PROFILE is granted in 12_profiling_authority.sql
+       ('operator', '$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki')
 ON CONFLICT (username) DO NOTHING;
 
 -- ===== USER ↔ ROLE ASSIGNMENTS =====
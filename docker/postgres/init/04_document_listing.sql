@@ -0,0 +1,10 @@
+-- ===== KEYSET LISTING FOR DOCUMENTS =====
+-- GET /documents pages by (created_at, id) descending. Widen the single-column indexes so the
+-- seek predicate "(created_at, id) < (:createdAt, :id)" is a single index range scan,
+-- with or without the uploader filter. Safe to re-run against an existing database.
+
+DROP INDEX IF EXISTS idx_document_uploaded_by;
+CREATE INDEX IF NOT EXISTS idx_document_uploaded_by ON "document" (uploaded_by, created_at, id);
+
+DROP INDEX IF EXISTS idx_document_created_at;
+CREATE INDEX IF NOT EXISTS idx_document_created_at ON "document" (created_at, id);
@@ -0,0 +1,65 @@
+-- ===== FULL-TEXT + SUBSTRING SEARCH =====
+-- Word search uses a trigger-maintained tsvector with a GIN index; partial filename/title matches
+-- use pg_trgm GIN indexes so "ILIKE '%x%'" does not scan the heap. The 'simple' configuration is used
+-- on purpose: names and titles are multilingual and must not be stemmed. Safe to re-run.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ========== DOCUMENTS ==========
+ALTER TABLE "document"
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION document_search_vector_update()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.search_vector = to_tsvector('simple', coalesce(NEW.filename, ''));
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_document_search_vector ON "document";
+CREATE TRIGGER trg_document_search_vector
+    BEFORE INSERT OR UPDATE OF filename
+    ON "document"
+    FOR EACH ROW
+EXECUTE FUNCTION document_search_vector_update();
+
+UPDATE "document"
+SET search_vector = to_tsvector('simple', coalesce(filename, ''))
+WHERE search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_document_search_vector ON "document" USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_document_filename_trgm ON "document" USING GIN (filename gin_trgm_ops);
+
+-- ========== PROTOCOLS ==========
+ALTER TABLE "protocol"
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION protocol_search_vector_update()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.search_vector =
+            setweight(to_tsvector('simple', coalesce(NEW.code, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'B');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_protocol_search_vector ON "protocol";
+CREATE TRIGGER trg_protocol_search_vector
+    BEFORE INSERT OR UPDATE OF code, title, description
+    ON "protocol"
+    FOR EACH ROW
+EXECUTE FUNCTION protocol_search_vector_update();
+
+UPDATE "protocol"
+SET search_vector = setweight(to_tsvector('simple', coalesce(code, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+WHERE search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_protocol_search_vector ON "protocol" USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_protocol_title_trgm ON "protocol" USING GIN (title gin_trgm_ops);
@@ -0,0 +1,15 @@
+-- ===== SEQUENCE IDS WITH POOLED ALLOCATION =====
+-- Document, Protocol and User ids are generated by Hibernate from the BIGSERIAL sequences with a pooled
+-- optimizer (allocationSize = 50): one nextval() reserves 50 ids, so inserts need no per-row round trip
+-- and JDBC batching stays enabled. The sequences must therefore step by the same 50.
+-- Run before deploying the matching application version – Hibernate refuses to start on a mismatch.
+-- Safe to re-run. Column defaults keep working for raw SQL inserts (each consumes one block).
+
+ALTER SEQUENCE document_id_seq INCREMENT BY 50;
+SELECT setval('document_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM "document"), 0), 1));
+
+ALTER SEQUENCE protocol_id_seq INCREMENT BY 50;
+SELECT setval('protocol_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM "protocol"), 0), 1));
+
+ALTER SEQUENCE user_id_seq INCREMENT BY 50;
+SELECT setval('user_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM "user"), 0), 1));
@@ -0,0 +1,7 @@
+-- ===== PROTOCOL CODE SEQUENCE =====
+-- Backs SequenceProtocolCodeGenerator. Each nextval() reserves a block of INCREMENT BY codes for one
+-- application node; the node hands them out from memory. The application reads the block size from
+-- pg_sequences, so the increment can be changed here alone (restart nodes afterwards).
+-- Safe to re-run.
+
+CREATE SEQUENCE IF NOT EXISTS protocol_code_seq AS BIGINT START WITH 1 INCREMENT BY 100 MINVALUE 1;
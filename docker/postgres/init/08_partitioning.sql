@@ -0,0 +1,280 @@
+-- ===== MONTHLY RANGE PARTITIONING OF DOCUMENT / PROTOCOL =====
+-- "document" and "protocol" become RANGE (created_at) partitioned tables with one partition per UTC month,
+-- so vacuum and most index work stay on the current months and expired months can be detached and dropped.
+--
+-- A partitioned table can only enforce uniqueness on columns that include the partition key, so the
+-- global identities live in small unpartitioned key tables maintained by triggers:
+--   document_key / protocol_key  (id, public_id[, code], created_at)
+-- They enforce unique public_id / code, are the FK targets of protocol_document, and let the application
+-- resolve a public_id to its created_at first, so the lookup on the big table is pruned to one partition.
+--
+-- protocol_document is not partitioned: it has no time column and its rows are two bigints.
+-- Future partitions are created by PartitionMaintenanceJob (app.partitions.*), which also deletes the key rows
+-- (and through the FKs the protocol_document rows) of months it detached. No DEFAULT partition is kept,
+-- because it would block DETACH ... CONCURRENTLY. Safe to re-run.
+
+-- ========== GLOBAL KEY TABLES ==========
+CREATE TABLE IF NOT EXISTS document_key
+(
+    id         BIGINT PRIMARY KEY,
+    public_id  UUID        NOT NULL UNIQUE,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS protocol_key
+(
+    id         BIGINT PRIMARY KEY,
+    public_id  UUID        NOT NULL UNIQUE,
+    code       TEXT UNIQUE,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION document_key_sync()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO document_key (id, public_id, created_at) VALUES (NEW.id, NEW.public_id, NEW.created_at);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE document_key
+        SET id         = NEW.id,
+            public_id  = NEW.public_id,
+            created_at = NEW.created_at
+        WHERE id = OLD.id;
+    ELSE
+        DELETE FROM document_key WHERE id = OLD.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION protocol_key_sync()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO protocol_key (id, public_id, code, created_at)
+        VALUES (NEW.id, NEW.public_id, NEW.code, NEW.created_at);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE protocol_key
+        SET id         = NEW.id,
+            public_id  = NEW.public_id,
+            code       = NEW.code,
+            created_at = NEW.created_at
+        WHERE id = OLD.id;
+    ELSE
+        DELETE FROM protocol_key WHERE id = OLD.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ========== PARTITION MANAGEMENT ==========
+-- Creates the missing monthly partitions <parent>_YYYY_MM for every month in [from_month, to_month].
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent TEXT, from_month DATE, to_month DATE)
+    RETURNS INT AS
+$$
+DECLARE
+    m       DATE := date_trunc('month', from_month)::DATE;
+    part    TEXT;
+    created INT  := 0;
+BEGIN
+    -- several application nodes may run the job at the same time
+    PERFORM pg_advisory_xact_lock(hashtext('partitions:' || parent));
+    WHILE m <= to_month
+        LOOP
+            part := format('%s_%s', parent, to_char(m, 'YYYY_MM'));
+            IF to_regclass(quote_ident(part)) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               part, parent,
+                               m::TIMESTAMP AT TIME ZONE 'UTC',
+                               (m + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC');
+                created := created + 1;
+            END IF;
+            m := (m + INTERVAL '1 month')::DATE;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Monthly partitions of parent that end before the current UTC month minus keep_months.
+CREATE OR REPLACE FUNCTION expired_monthly_partitions(parent TEXT, keep_months INT)
+    RETURNS SETOF TEXT AS
+$$
+SELECT c.relname::TEXT
+FROM pg_inherits i
+         JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = parent::REGCLASS
+  AND c.relname ~ ('^' || parent || '_[0-9]{4}_[0-9]{2}$')
+  AND to_date(right(c.relname, 7), 'YYYY_MM')
+    < (date_trunc('month', now() AT TIME ZONE 'UTC') - make_interval(months => keep_months))::DATE
+ORDER BY c.relname;
+$$ LANGUAGE sql STABLE;
+
+-- ========== DOCUMENTS ==========
+DO
+$$
+    DECLARE
+        first_month DATE;
+        last_month  DATE;
+    BEGIN
+        IF (SELECT relkind FROM pg_class WHERE oid = '"document"'::REGCLASS) = 'p' THEN
+            RETURN;
+        END IF;
+
+        ALTER TABLE "protocol_document" DROP CONSTRAINT IF EXISTS protocol_document_document_id_fkey;
+
+        ALTER TABLE "document" RENAME TO document_unpartitioned;
+        ALTER INDEX document_pkey RENAME TO document_unpartitioned_pkey;
+        ALTER INDEX document_public_id_key RENAME TO document_unpartitioned_public_id_key;
+        ALTER SEQUENCE document_id_seq OWNED BY NONE;
+
+        CREATE TABLE "document"
+        (
+            LIKE document_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+            PRIMARY KEY (id, created_at),
+            FOREIGN KEY (uploaded_by) REFERENCES "user" (id) ON DELETE SET NULL
+        ) PARTITION BY RANGE (created_at);
+        ALTER SEQUENCE document_id_seq OWNED BY "document".id;
+
+        SELECT date_trunc('month', coalesce(min(created_at), now()) AT TIME ZONE 'UTC')::DATE,
+               greatest(date_trunc('month', coalesce(max(created_at), now()) AT TIME ZONE 'UTC'),
+                        date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::DATE
+        INTO first_month, last_month
+        FROM document_unpartitioned;
+        PERFORM create_monthly_partitions('document', first_month, last_month);
+
+        CREATE TRIGGER trg_document_set_updated_at
+            BEFORE UPDATE
+            ON "document"
+            FOR EACH ROW
+        EXECUTE FUNCTION set_updated_at();
+
+        CREATE TRIGGER trg_document_search_vector
+            BEFORE INSERT OR UPDATE OF filename
+            ON "document"
+            FOR EACH ROW
+        EXECUTE FUNCTION document_search_vector_update();
+
+        -- the key trigger is (re)created below; copied rows get their keys here
+        INSERT INTO "document" SELECT * FROM document_unpartitioned;
+        INSERT INTO document_key (id, public_id, created_at) SELECT id, public_id, created_at FROM document_unpartitioned;
+        DROP TABLE document_unpartitioned;
+
+        ALTER TABLE "protocol_document"
+            ADD CONSTRAINT protocol_document_document_id_fkey
+                FOREIGN KEY (document_id) REFERENCES document_key (id) ON DELETE CASCADE;
+    END
+$$;
+
+-- Hibernate writes every column on update, so the key trigger only fires when a key column really changes;
+-- without the WHEN clause every metadata update would also rewrite the document_key row.
+DROP TRIGGER IF EXISTS trg_document_key ON "document";
+CREATE TRIGGER trg_document_key
+    AFTER INSERT OR DELETE
+    ON "document"
+    FOR EACH ROW
+EXECUTE FUNCTION document_key_sync();
+
+DROP TRIGGER IF EXISTS trg_document_key_update ON "document";
+CREATE TRIGGER trg_document_key_update
+    AFTER UPDATE OF id, public_id, created_at
+    ON "document"
+    FOR EACH ROW
+    WHEN (OLD.id IS DISTINCT FROM NEW.id OR OLD.public_id IS DISTINCT FROM NEW.public_id
+        OR OLD.created_at IS DISTINCT FROM NEW.created_at)
+EXECUTE FUNCTION document_key_sync();
+
+-- lets PartitionMaintenanceJob find the keys of detached months
+CREATE INDEX IF NOT EXISTS idx_document_key_created_at ON document_key (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_document_public_id ON "document" (public_id);
+CREATE INDEX IF NOT EXISTS idx_document_uploaded_by ON "document" (uploaded_by, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_document_created_at ON "document" (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_document_search_vector ON "document" USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_document_filename_trgm ON "document" USING GIN (filename gin_trgm_ops);
+
+-- ========== PROTOCOLS ==========
+DO
+$$
+    DECLARE
+        first_month DATE;
+        last_month  DATE;
+    BEGIN
+        IF (SELECT relkind FROM pg_class WHERE oid = '"protocol"'::REGCLASS) = 'p' THEN
+            RETURN;
+        END IF;
+
+        ALTER TABLE "protocol_document" DROP CONSTRAINT IF EXISTS protocol_document_protocol_id_fkey;
+
+        ALTER TABLE "protocol" RENAME TO protocol_unpartitioned;
+        ALTER INDEX protocol_pkey RENAME TO protocol_unpartitioned_pkey;
+        ALTER INDEX protocol_public_id_key RENAME TO protocol_unpartitioned_public_id_key;
+        ALTER INDEX protocol_code_key RENAME TO protocol_unpartitioned_code_key;
+        ALTER SEQUENCE protocol_id_seq OWNED BY NONE;
+
+        CREATE TABLE "protocol"
+        (
+            LIKE protocol_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+            PRIMARY KEY (id, created_at),
+            FOREIGN KEY (created_by) REFERENCES "user" (id) ON DELETE SET NULL,
+            FOREIGN KEY (updated_by) REFERENCES "user" (id) ON DELETE SET NULL
+        ) PARTITION BY RANGE (created_at);
+        ALTER SEQUENCE protocol_id_seq OWNED BY "protocol".id;
+
+        SELECT date_trunc('month', coalesce(min(created_at), now()) AT TIME ZONE 'UTC')::DATE,
+               greatest(date_trunc('month', coalesce(max(created_at), now()) AT TIME ZONE 'UTC'),
+                        date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::DATE
+        INTO first_month, last_month
+        FROM protocol_unpartitioned;
+        PERFORM create_monthly_partitions('protocol', first_month, last_month);
+
+        CREATE TRIGGER trg_protocol_set_updated_at
+            BEFORE UPDATE
+            ON "protocol"
+            FOR EACH ROW
+        EXECUTE FUNCTION set_updated_at();
+
+        CREATE TRIGGER trg_protocol_search_vector
+            BEFORE INSERT OR UPDATE OF code, title, description
+            ON "protocol"
+            FOR EACH ROW
+        EXECUTE FUNCTION protocol_search_vector_update();
+
+        -- the key trigger is (re)created below; copied rows get their keys here
+        INSERT INTO "protocol" SELECT * FROM protocol_unpartitioned;
+        INSERT INTO protocol_key (id, public_id, code, created_at) SELECT id, public_id, code, created_at FROM protocol_unpartitioned;
+        DROP TABLE protocol_unpartitioned;
+
+        ALTER TABLE "protocol_document"
+            ADD CONSTRAINT protocol_document_protocol_id_fkey
+                FOREIGN KEY (protocol_id) REFERENCES protocol_key (id) ON DELETE CASCADE;
+    END
+$$;
+
+-- Hibernate writes every column on update, so the key trigger only fires when a key column really changes;
+-- without the WHEN clause every status or title update would also rewrite the protocol_key row.
+DROP TRIGGER IF EXISTS trg_protocol_key ON "protocol";
+CREATE TRIGGER trg_protocol_key
+    AFTER INSERT OR DELETE
+    ON "protocol"
+    FOR EACH ROW
+EXECUTE FUNCTION protocol_key_sync();
+
+DROP TRIGGER IF EXISTS trg_protocol_key_update ON "protocol";
+CREATE TRIGGER trg_protocol_key_update
+    AFTER UPDATE OF id, public_id, code, created_at
+    ON "protocol"
+    FOR EACH ROW
+    WHEN (OLD.id IS DISTINCT FROM NEW.id OR OLD.public_id IS DISTINCT FROM NEW.public_id
+        OR OLD.code IS DISTINCT FROM NEW.code OR OLD.created_at IS DISTINCT FROM NEW.created_at)
+EXECUTE FUNCTION protocol_key_sync();
+
+-- lets PartitionMaintenanceJob find the keys of detached months
+CREATE INDEX IF NOT EXISTS idx_protocol_key_created_at ON protocol_key (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_protocol_public_id ON "protocol" (public_id);
+CREATE INDEX IF NOT EXISTS idx_protocol_status ON "protocol" (status);
+CREATE INDEX IF NOT EXISTS idx_protocol_created_at ON "protocol" (created_at);
+CREATE INDEX IF NOT EXISTS idx_protocol_search_vector ON "protocol" USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_protocol_title_trgm ON "protocol" USING GIN (title gin_trgm_ops);
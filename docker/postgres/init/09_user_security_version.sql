@@ -0,0 +1,154 @@
+-- ===== USER SECURITY VERSION + CACHE INVALIDATION =====
+-- "user".security_version is bumped whenever anything that ends up in the user's UserDetails changes:
+-- password/username, role membership, a role's authorities, or role/authority code names.
+-- Every bump (and every user delete) is announced with NOTIFY user_security, payload
+-- '<username>:<version>' (or just '<username>' on delete). Each application node LISTENs and evicts
+-- its cached UserDetails. NOTIFY is delivered on commit only. Safe to re-run.
+
+ALTER TABLE "user"
+    ADD COLUMN IF NOT EXISTS security_version BIGINT NOT NULL DEFAULT 0;
+
+-- ========== USER ==========
+CREATE OR REPLACE FUNCTION user_security_version_bump()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF NEW.password_hash IS DISTINCT FROM OLD.password_hash OR NEW.username IS DISTINCT FROM OLD.username THEN
+        NEW.security_version = OLD.security_version + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_security_version ON "user";
+CREATE TRIGGER trg_user_security_version
+    BEFORE UPDATE OF password_hash, username
+    ON "user"
+    FOR EACH ROW
+EXECUTE FUNCTION user_security_version_bump();
+
+CREATE OR REPLACE FUNCTION user_security_notify()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('user_security', OLD.username);
+    ELSE
+        IF NEW.username IS DISTINCT FROM OLD.username THEN
+            PERFORM pg_notify('user_security', OLD.username);
+        END IF;
+        PERFORM pg_notify('user_security', NEW.username || ':' || NEW.security_version);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_security_notify ON "user";
+CREATE TRIGGER trg_user_security_notify
+    AFTER DELETE OR UPDATE OF security_version
+    ON "user"
+    FOR EACH ROW
+EXECUTE FUNCTION user_security_notify();
+
+-- The BEFORE trigger changes security_version itself, which "UPDATE OF security_version" does not see;
+-- this one catches password/username updates.
+DROP TRIGGER IF EXISTS trg_user_security_notify_credentials ON "user";
+CREATE TRIGGER trg_user_security_notify_credentials
+    AFTER UPDATE OF password_hash, username
+    ON "user"
+    FOR EACH ROW
+    WHEN (NEW.security_version IS DISTINCT FROM OLD.security_version)
+EXECUTE FUNCTION user_security_notify();
+
+-- ========== ROLE MEMBERSHIP / ROLE CONTENT ==========
+CREATE OR REPLACE FUNCTION bump_security_version_of_users(user_ids BIGINT[])
+    RETURNS VOID AS
+$$
+UPDATE "user"
+SET security_version = security_version + 1
+WHERE id = ANY (user_ids);
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION user_role_security_bump()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM bump_security_version_of_users(ARRAY [OLD.user_id]);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM bump_security_version_of_users(ARRAY [NEW.user_id]);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_role_security ON "user_role";
+CREATE TRIGGER trg_user_role_security
+    AFTER INSERT OR UPDATE OR DELETE
+    ON "user_role"
+    FOR EACH ROW
+EXECUTE FUNCTION user_role_security_bump();
+
+CREATE OR REPLACE FUNCTION role_users_security_bump(role_ids BIGINT[])
+    RETURNS VOID AS
+$$
+SELECT bump_security_version_of_users(array_agg(DISTINCT ur.user_id))
+FROM user_role ur
+WHERE ur.role_id = ANY (role_ids);
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION role_authority_security_bump()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM role_users_security_bump(ARRAY [OLD.role_id]);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM role_users_security_bump(ARRAY [NEW.role_id]);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_role_authority_security ON "role_authority";
+CREATE TRIGGER trg_role_authority_security
+    AFTER INSERT OR UPDATE OR DELETE
+    ON "role_authority"
+    FOR EACH ROW
+EXECUTE FUNCTION role_authority_security_bump();
+
+CREATE OR REPLACE FUNCTION role_code_security_bump()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM role_users_security_bump(ARRAY [NEW.id]);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_role_code_security ON "role";
+CREATE TRIGGER trg_role_code_security
+    AFTER UPDATE OF code_name
+    ON "role"
+    FOR EACH ROW
+EXECUTE FUNCTION role_code_security_bump();
+
+CREATE OR REPLACE FUNCTION authority_code_security_bump()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM role_users_security_bump(array_agg(ra.role_id))
+    FROM role_authority ra
+    WHERE ra.authority_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_authority_code_security ON "authority";
+CREATE TRIGGER trg_authority_code_security
+    AFTER UPDATE OF code_name
+    ON "authority"
+    FOR EACH ROW
+EXECUTE FUNCTION authority_code_security_bump();
@@ -0,0 +1,42 @@
+-- ===== REFRESH TOKENS =====
+-- Opaque single-use refresh tokens; only their SHA-256 (hex) is stored. Every refresh marks the used
+-- token revoked and inserts its successor in the same family; presenting a revoked token revokes the
+-- whole family (token theft). A password change revokes all of the user's tokens. Safe to re-run.
+
+CREATE TABLE IF NOT EXISTS "refresh_token"
+(
+    id         BIGSERIAL PRIMARY KEY,
+    token_hash TEXT        NOT NULL UNIQUE,
+    family_id  UUID        NOT NULL,
+    user_id    BIGINT      NOT NULL REFERENCES "user" (id) ON DELETE CASCADE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    expires_at TIMESTAMPTZ NOT NULL,
+    revoked_at TIMESTAMPTZ
+);
+
+-- pooled ids, as for the other entities (06_sequence_ids.sql)
+ALTER SEQUENCE refresh_token_id_seq INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON "refresh_token" (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user ON "refresh_token" (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON "refresh_token" (expires_at);
+
+CREATE OR REPLACE FUNCTION refresh_token_revoke_on_password_change()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    UPDATE "refresh_token"
+    SET revoked_at = NOW()
+    WHERE user_id = NEW.id
+      AND revoked_at IS NULL;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_refresh_token_password_change ON "user";
+CREATE TRIGGER trg_refresh_token_password_change
+    AFTER UPDATE OF password_hash
+    ON "user"
+    FOR EACH ROW
+    WHEN (NEW.password_hash IS DISTINCT FROM OLD.password_hash)
+EXECUTE FUNCTION refresh_token_revoke_on_password_change();
@@ -0,0 +1,39 @@
+-- ===== ACCESS TOKEN REVOCATION =====
+-- Revoked access tokens ('j:<jti>') and revoked subjects ('s:<username>': every token of that user issued
+-- before revoked_at). Each node mirrors the live rows in memory behind a Bloom filter and re-reads rows by
+-- revoked_at every few seconds, so the request path never queries this table. Rows are useless once
+-- expires_at (the last possible exp of an affected token) has passed and are deleted by the application.
+-- Safe to re-run.
+
+CREATE TABLE IF NOT EXISTS "revoked_token"
+(
+    token_key  TEXT PRIMARY KEY,
+    revoked_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked_at ON "revoked_token" (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON "revoked_token" (expires_at);
+
+-- A password change invalidates the user's access tokens, not only the refresh tokens (10_refresh_token.sql).
+-- The one-day window must be at least app.jwt.expirationSeconds.
+CREATE OR REPLACE FUNCTION revoked_token_on_password_change()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO "revoked_token" (token_key, revoked_at, expires_at)
+    VALUES ('s:' || NEW.username, NOW(), NOW() + INTERVAL '1 day')
+    ON CONFLICT (token_key) DO UPDATE
+        SET revoked_at = EXCLUDED.revoked_at,
+            expires_at = GREATEST("revoked_token".expires_at, EXCLUDED.expires_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_revoked_token_password_change ON "user";
+CREATE TRIGGER trg_revoked_token_password_change
+    AFTER UPDATE OF password_hash
+    ON "user"
+    FOR EACH ROW
+    WHEN (NEW.password_hash IS DISTINCT FROM OLD.password_hash)
+EXECUTE FUNCTION revoked_token_on_password_change();
@@ -0,0 +1,26 @@
+-- ===== PROFILING AUTHORITY =====
+-- PROFILE_APPLICATION allows starting, downloading and discarding JFR recordings via /actuator/jfr.
+-- Granted through the OPS_PROFILE role; the seeded "operator" user (02_seed.sql) gets it if present.
+-- Safe to re-run.
+
+INSERT INTO authority (code_name, description)
+VALUES ('PROFILE_APPLICATION', 'Record and download JFR profiles')
+ON CONFLICT (code_name) DO NOTHING;
+
+INSERT INTO role (code_name, name, description)
+VALUES ('OPS_PROFILE', 'Operations – Profile', 'Can record and download JFR profiles')
+ON CONFLICT (code_name) DO NOTHING;
+
+INSERT INTO role_authority (role_id, authority_id)
+SELECT r.id, a.id
+FROM role r
+         JOIN authority a ON a.code_name = 'PROFILE_APPLICATION'
+WHERE r.code_name = 'OPS_PROFILE'
+ON CONFLICT DO NOTHING;
+
+INSERT INTO "user_role" (user_id, role_id)
+SELECT u.id, r.id
+FROM "user" u
+         JOIN "role" r ON r.code_name = 'OPS_PROFILE'
+WHERE u.username = 'operator'
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,26 @@
+-- ===== OPERATIONS AUTHORITY =====
+-- OPERATE_APPLICATION allows maintenance operations through the actuator (e.g. rebuilding the content index
+-- via /actuator/contentindex). Granted through the OPS_ADMIN role; the seeded "operator" user gets it if present.
+-- Safe to re-run.
+
+INSERT INTO authority (code_name, description)
+VALUES ('OPERATE_APPLICATION', 'Run maintenance operations')
+ON CONFLICT (code_name) DO NOTHING;
+
+INSERT INTO role (code_name, name, description)
+VALUES ('OPS_ADMIN', 'Operations – Admin', 'Can run maintenance operations')
+ON CONFLICT (code_name) DO NOTHING;
+
+INSERT INTO role_authority (role_id, authority_id)
+SELECT r.id, a.id
+FROM role r
+         JOIN authority a ON a.code_name = 'OPERATE_APPLICATION'
+WHERE r.code_name = 'OPS_ADMIN'
+ON CONFLICT DO NOTHING;
+
+INSERT INTO "user_role" (user_id, role_id)
+SELECT u.id, r.id
+FROM "user" u
+         JOIN "role" r ON r.code_name = 'OPS_ADMIN'
+WHERE u.username = 'operator'
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,119 @@
+package com.task.reifensbank.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Scores of an earlier run (JMH JSON result file) to compare a new run against, benchmark by benchmark.
+ * <p>
+ * The time score is only as comparable as the machines were, and a slowdown within the two runs' error margins
+ * is not counted; allocated bytes per operation ({@code gc.alloc.rate.norm}) are nearly deterministic and the
+ * more reliable signal between runs.
+ */
+final class BaselineComparison {
+
+    static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private static final String PACKAGE = "com.task.reifensbank.";
+
+    private final Map<String, Score> baseline;
+
+    private BaselineComparison(Map<String, Score> baseline) {
+        this.baseline = baseline;
+    }
+
+    static BaselineComparison read(Path file) throws IOException {
+        Map<String, Score> scores = new HashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> param : run.path("params").properties()) {
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION).path("score");
+            scores.put(key(run.get("benchmark").asText(), params), new Score(
+                    run.get("mode").asText(),
+                    run.path("primaryMetric").path("score").asDouble(),
+                    run.path("primaryMetric").path("scoreError").asDouble(Double.NaN),
+                    run.path("primaryMetric").path("scoreUnit").asText(),
+                    allocation.isMissingNode() ? Double.NaN : allocation.asDouble()));
+        }
+        return new BaselineComparison(scores);
+    }
+
+    /**
+     * Prints one line per benchmark and returns how many got slower, or allocate more, than {@code maxRegression}.
+     */
+    int report(Collection<RunResult> results, double maxRegression, PrintStream out) {
+        int regressions = 0;
+        out.println();
+        out.printf("%-60s %34s %30s%n", "Benchmark (vs. baseline)", "score", "alloc B/op");
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Map<String, String> paramValues = new TreeMap<>();
+            for (String name : params.getParamsKeys()) {
+                paramValues.put(name, params.getParam(name));
+            }
+            String key = key(params.getBenchmark(), paramValues);
+            Score before = baseline.get(key);
+
+            Result<?> primary = result.getPrimaryResult();
+            Result<?> allocation = result.getSecondaryResults().get(ALLOCATION);
+            Score now = new Score(params.getMode().shortLabel(), primary.getScore(), primary.getScoreError(),
+                    primary.getScoreUnit(), allocation != null ? allocation.getScore() : Double.NaN);
+
+            if (before == null || !before.mode().equals(now.mode()) || !before.unit().equals(now.unit())) {
+                out.printf("%-60s %34s%n", key, "(no baseline)");
+                continue;
+            }
+
+            // lower is better for every mode but throughput
+            double timeChange = change(before.score(), now.score()) * ("thrpt".equals(now.mode()) ? -1 : 1);
+            double allocationChange = change(before.allocation(), now.allocation());
+            boolean regressed = (timeChange > maxRegression && !withinError(before, now))
+                    || allocationChange > maxRegression;
+            if (regressed) {
+                regressions++;
+            }
+            out.printf("%-60s %12.1f -> %-12.1f%+7.1f%% %10.0f -> %-10.0f%+7.1f%%%s%n", key,
+                    before.score(), now.score(), 100 * change(before.score(), now.score()),
+                    before.allocation(), now.allocation(), 100 * allocationChange,
+                    regressed ? "  REGRESSION" : "");
+        }
+        out.printf("%d regression(s) above %.0f%%%n", regressions, 100 * maxRegression);
+        return regressions;
+    }
+
+    private static boolean withinError(Score before, Score now) {
+        if (Double.isNaN(before.error()) || Double.isNaN(now.error())) {
+            return false;
+        }
+        return Math.abs(now.score() - before.score()) <= before.error() + now.error();
+    }
+
+    private static double change(double before, double now) {
+        if (Double.isNaN(before) || Double.isNaN(now)) {
+            return 0;
+        }
+        // a few bytes on top of a zero-allocation baseline are profiler noise, not +∞ %
+        return before < 1 ? (now < 16 ? 0 : Double.POSITIVE_INFINITY) : (now - before) / before;
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        String name = benchmark.startsWith(PACKAGE) ? benchmark.substring(PACKAGE.length()) : benchmark;
+        return params.isEmpty() ? name : name + params;
+    }
+
+    private record Score(String mode, double score, double error, String unit, double allocation) {
+    }
+}
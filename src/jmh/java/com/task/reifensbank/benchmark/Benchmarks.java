@@ -0,0 +1,66 @@
+package com.task.reifensbank.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entry point of {@code mvn -Pjmh test-compile exec:exec}. Takes the usual JMH command line
+ * (benchmark regexp, {@code -f}, {@code -wi}, {@code -prof}, ...) plus:
+ * <ul>
+ *     <li>{@code --baseline=<results.json>} – compare with an earlier run and exit with 1 on a regression</li>
+ *     <li>{@code --max-regression=<fraction>} – tolerated slowdown / allocation growth, default {@code 0.10}</li>
+ * </ul>
+ * Unless told otherwise it runs with the GC profiler (allocated bytes per operation) and writes
+ * {@code target/jmh/results.json}, which is what a later run takes as its baseline.
+ */
+public final class Benchmarks {
+
+    static final Path RESULTS = Path.of("target", "jmh", "results.json");
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baseline = null;
+        double maxRegression = 0.10;
+        List<String> jmhArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--baseline=")) {
+                baseline = Path.of(arg.substring("--baseline=".length()));
+            } else if (arg.startsWith("--max-regression=")) {
+                maxRegression = Double.parseDouble(arg.substring("--max-regression=".length()));
+            } else {
+                jmhArgs.add(arg);
+            }
+        }
+        // read before the run: the baseline may well be the results file this run overwrites
+        BaselineComparison comparison = baseline != null ? BaselineComparison.read(baseline) : null;
+
+        CommandLineOptions cli = new CommandLineOptions(jmhArgs.toArray(String[]::new));
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cli.getResultFormat().hasValue()) {
+            Files.createDirectories(RESULTS.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(RESULTS.toString());
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        if (comparison != null && comparison.report(results, maxRegression, System.out) > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.task.reifensbank.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.reifensbank.model.Document;
+import com.task.reifensbank.model.Protocol;
+import com.task.reifensbank.model.ProtocolState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies as Spring MVC writes them: generated API models through an {@link ObjectMapper} built the way
+ * Spring Boot builds its default one ({@link Jackson2ObjectMapperBuilder}, java.time module included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+
+    private Document document;
+    private List<Document> page;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        document = document(random);
+
+        // one page of GET /documents
+        page = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            page.add(document(random));
+        }
+    }
+
+    @Benchmark
+    public byte[] document() throws JsonProcessingException {
+        return json.writeValueAsBytes(document);
+    }
+
+    @Benchmark
+    public byte[] documentPage() throws JsonProcessingException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] protocol(ProtocolWithDocuments state) throws JsonProcessingException {
+        return json.writeValueAsBytes(state.protocol);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProtocolWithDocuments {
+
+        @Param({"10", "10000"})
+        public int documents;
+
+        Protocol protocol;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            List<UUID> ids = new ArrayList<>(documents);
+            for (int i = 0; i < documents; i++) {
+                ids.add(new UUID(random.nextLong(), random.nextLong()));
+            }
+            protocol = new Protocol().id(new UUID(random.nextLong(), random.nextLong()))
+                    .state(ProtocolState.NEW).documentIds(ids);
+        }
+    }
+
+    private static Document document(Random random) {
+        return new Document()
+                .id(new UUID(random.nextLong(), random.nextLong()))
+                .name("report-" + random.nextInt(1_000_000) + ".pdf")
+                .type("application/pdf")
+                .createdBy("document_master")
+                .createdAt(OffsetDateTime.parse("2025-01-01T00:00:00Z").plusSeconds(random.nextInt(1 << 24)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.task.reifensbank.mappers;
+
+import com.task.reifensbank.entity.Document;
+import com.task.reifensbank.entity.Protocol;
+import com.task.reifensbank.entity.User;
+import com.task.reifensbank.enums.ProtocolStatusEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → API model mapping; {@link ProtocolMappers#toModel} scales with the number of linked documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappersBenchmark {
+
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        document = document(new Random(42), uploader());
+    }
+
+    @Benchmark
+    public com.task.reifensbank.model.Document documentToModel() {
+        return DocumentMappers.toModel(document);
+    }
+
+    @Benchmark
+    public com.task.reifensbank.model.Protocol protocolToModel(ProtocolWithDocuments state) {
+        return ProtocolMappers.toModel(state.protocol);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProtocolWithDocuments {
+
+        @Param({"10", "10000"})
+        public int documents;
+
+        Protocol protocol;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            User uploader = uploader();
+            protocol = new Protocol();
+            protocol.setPublicId(new UUID(random.nextLong(), random.nextLong()));
+            protocol.setStatus(ProtocolStatusEnum.NEW);
+            for (int i = 0; i < documents; i++) {
+                protocol.getDocuments().add(document(random, uploader));
+            }
+        }
+    }
+
+    static User uploader() {
+        User uploader = new User();
+        uploader.setUsername("document_master");
+        return uploader;
+    }
+
+    static Document document(Random random, User uploader) {
+        Document d = new Document();
+        d.setPublicId(new UUID(random.nextLong(), random.nextLong()));
+        d.setFilename("report-" + random.nextInt(1_000_000) + ".pdf");
+        d.setContentType("application/pdf");
+        d.setSizeBytes(1024L + random.nextInt(1 << 20));
+        d.setUploadedBy(uploader);
+        d.setCreatedAt(OffsetDateTime.parse("2025-01-01T00:00:00Z").plusSeconds(random.nextInt(1 << 24)));
+        return d;
+    }
+}
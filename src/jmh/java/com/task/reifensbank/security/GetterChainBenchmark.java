@@ -0,0 +1,95 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GetterChain} against the {@code getMethod}/{@code Method.invoke} lookup it replaced in
+ * {@link CustomUserDetailsService}: once for a getter that exists ({@code getUsername}) and once for a chain
+ * none of whose getters exist on {@link User} (the {@code isEnabled}/{@code getEnabled}/... candidates), where
+ * the reflective version paid for a {@link NoSuchMethodException} per candidate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetterChainBenchmark {
+
+    private static final String[] USERNAME = {"getUsername", "getLogin", "getEmail", "getUserName"};
+    private static final String[] ENABLED = {"isEnabled", "getEnabled", "isActive", "getActive", "isAccountEnabled"};
+
+    private final GetterChain username = GetterChain.of(USERNAME);
+    private final GetterChain enabled = GetterChain.of(ENABLED);
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setUsername("protocol_master");
+    }
+
+    @Benchmark
+    public String getterChain_existing() {
+        return username.firstString(user);
+    }
+
+    @Benchmark
+    public String reflection_existing() {
+        return reflectiveFirstString(user, USERNAME);
+    }
+
+    @Benchmark
+    public Object getterChain_missing() {
+        return enabled.first(user);
+    }
+
+    @Benchmark
+    public Object reflection_missing() {
+        return reflectiveFirst(user, ENABLED);
+    }
+
+    private static Object reflectiveFirst(Object target, String[] names) {
+        for (String name : names) {
+            try {
+                Method m = target.getClass().getMethod(name);
+                Object value = m.invoke(target);
+                if (value != null) {
+                    return value;
+                }
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // try the next candidate
+            }
+        }
+        return null;
+    }
+
+    private static String reflectiveFirstString(Object target, String[] names) {
+        for (String name : names) {
+            try {
+                Method m = target.getClass().getMethod(name);
+                Object value = m.invoke(target);
+                if (value != null && !value.toString().isBlank()) {
+                    return value.toString();
+                }
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // try the next candidate
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.task.reifensbank.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login ({@code generate}) and every authenticated request ({@code parse}): a repeated token is answered
+ * from the verified-token cache, a token the cache does not hold pays for the HMAC check and JSON parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtService jwt;
+    private JwtService smallCache;
+    private Authentication authentication;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwt = new JwtService(SECRET, 3600, "reifensbank", 10_000);
+        // far fewer entries than distinct tokens: practically every parse is a miss
+        smallCache = new JwtService(SECRET, 3600, "reifensbank", 16);
+
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_PROTOCOL_MASTER",
+                "CREATE_DOCUMENT", "EDIT_DOCUMENT", "VIEW_DOCUMENT", "CREATE_PROTOCOL", "EDIT_PROTOCOL", "VIEW_PROTOCOL");
+        var user = new AppUserDetails(42L, "protocol_master", "", true, true, authorities);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
+
+        token = jwt.generate(authentication);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = smallCache.generate(authentication);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwt.generate(authentication);
+    }
+
+    @Benchmark
+    public Jws<Claims> parse_cached() {
+        return jwt.parse(token);
+    }
+
+    @Benchmark
+    public Jws<Claims> parse_uncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return smallCache.parse(tokens[next]);
+    }
+}
@@ -0,0 +1,103 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.entity.Authority;
+import com.task.reifensbank.entity.Role;
+import com.task.reifensbank.entity.User;
+import com.task.reifensbank.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomUserDetailsService#loadUserByUsername} – what {@code app.jwt.auth-mode=database} runs per request –
+ * without the database: the repository returns a ready entity, so the score is the mapping of user, roles and
+ * authorities to {@link AppUserDetails} (or the cache hit and copy, with {@code app.security.user-cache.enabled}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean userCache;
+
+    private CustomUserDetailsService service;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("protocol_master");
+        user.setPasswordHash("$2a$10$7EqJtq98hPqEX7fNZaFWoO5uPqFzZ6w5V5C1XKQ4Jb8Vx6Hn5ZQ1e");
+        user.getRoles().add(role("DOCUMENT_MASTER", "CREATE_DOCUMENT", "EDIT_DOCUMENT", "VIEW_DOCUMENT"));
+        user.getRoles().add(role("PROTOCOL_MASTER", "CREATE_PROTOCOL", "EDIT_PROTOCOL", "VIEW_PROTOCOL"));
+
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        service = new CustomUserDetailsService(users,
+                new UserDetailsCache(userCache, 10_000, Duration.ofMinutes(10)),
+                new NoTransactionManager());
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return service.loadUserByUsername("protocol_master");
+    }
+
+    private static Role role(String code, String... authorityCodes) {
+        Role role = new Role();
+        role.setCodeName(code);
+        role.setName(code);
+        for (String authorityCode : List.of(authorityCodes)) {
+            Authority authority = new Authority();
+            authority.setCodeName(authorityCode);
+            role.getAuthorities().add(authority);
+        }
+        return role;
+    }
+
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.task.reifensbank.service.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The default {@link StorageService#buildObjectKey} every upload goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageServiceBenchmark {
+
+    private final StorageService storage = new StorageService() {
+        @Override
+        public String put(String objectKey, MultipartFile file) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InputStream get(String objectKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(String objectKey) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final String publicId = "0192f5a8-3c4e-7b21-9a0d-5e6f7a8b9c0d";
+
+    @Benchmark
+    public String buildObjectKey() {
+        return storage.buildObjectKey(publicId, "PDF");
+    }
+
+    @Benchmark
+    public String buildObjectKey_withoutExtension() {
+        return storage.buildObjectKey(publicId, null);
+    }
+}
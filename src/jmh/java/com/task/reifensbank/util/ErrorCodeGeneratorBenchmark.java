@@ -0,0 +1,35 @@
+package com.task.reifensbank.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error codes are generated for every handled 5xx; the shared {@code SecureRandom} is measured single-threaded
+ * and contended, as under an error storm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorCodeGeneratorBenchmark {
+
+    @Benchmark
+    public String generateHexCode() {
+        return ErrorCodeGenerator.generateHexCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateHexCode_contended() {
+        return ErrorCodeGenerator.generateHexCode();
+    }
+}
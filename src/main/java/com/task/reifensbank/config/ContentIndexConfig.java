@@ -0,0 +1,31 @@
+package com.task.reifensbank.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.content-index", name = "enabled", havingValue = "true")
+public class ContentIndexConfig {
+
+    /**
+     * Dedicated pool for text extraction + indexing, so it never runs on request threads and never
+     * competes with them beyond {@code parallelism} threads. A full queue rejects new work instead of blocking.
+     */
+    @Bean(name = "contentIndexExecutor")
+    public ThreadPoolTaskExecutor contentIndexExecutor(
+            @Value("${app.content-index.parallelism:2}") int parallelism,
+            @Value("${app.content-index.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("content-index-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.task.reifensbank.config;
+
+import com.task.reifensbank.metrics.OperationIdObservationConvention;
+import com.task.reifensbank.service.storage.StorageService;
+import com.task.reifensbank.service.storage.ObservedStorageService;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Latency metrics, scraped from {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code http.server.requests} – tagged with the OpenAPI {@code operation} as well</li>
+ *     <li>{@code spring.data.repository.invocations} – every repository method (Spring Boot)</li>
+ *     <li>{@code storage.operations} – every {@link StorageService} call</li>
+ *     <li>{@code usecase} / {@code service} – {@code @Observed} application and domain services</li>
+ * </ul>
+ * Percentile histograms are switched on in {@code management.metrics.distribution.*}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention operationIdObservationConvention() {
+        return new OperationIdObservationConvention();
+    }
+
+    @Bean
+    public static BeanPostProcessor observedStorageServicePostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof StorageService storage && !(bean instanceof ObservedStorageService)) {
+                    return new ObservedStorageService(storage, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.task.reifensbank.config;
+
+import com.task.reifensbank.profiling.RepositoryJfrInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * JFR events for repository calls ({@code RepositoryCallEvent}); storage calls are covered by
+ * {@code ObservedStorageService}. Recordings are managed through {@code /actuator/jfr}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ProfilingConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryJfrPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factory) {
+                    factory.addRepositoryFactoryCustomizer(repositories -> repositories.addRepositoryProxyPostProcessor(
+                            (proxy, info) -> proxy.addAdvice(new RepositoryJfrInterceptor(
+                                    info.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
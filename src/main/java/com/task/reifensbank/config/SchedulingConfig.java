@@ -0,0 +1,13 @@
+package com.task.reifensbank.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled}. Jobs that are optional (e.g. partition maintenance) are switched by their own
+ * {@code enabled} property; refresh-token cleanup always runs.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,68 @@
+package com.task.reifensbank.config;
+
+import com.task.reifensbank.tracing.JsonLinesSpanExporter;
+import com.task.reifensbank.tracing.RepositorySpanInterceptor;
+import com.task.reifensbank.tracing.TailSamplingSpanExporter;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Traces: one per HTTP request (Spring Boot), with child spans for the {@code @Observed} use cases and services,
+ * every repository call ({@link RepositorySpanInterceptor}) and every storage call ({@code ObservedStorageService}).
+ * <p>
+ * Every span is recorded in process ({@code management.tracing.sampling.probability=1.0}); which traces leave
+ * the process is decided once they are complete by {@link TailSamplingSpanExporter} ({@code app.tracing.*}).
+ * Exporters: OTLP/HTTP when {@code management.otlp.tracing.endpoint} is set (Spring Boot), JSON lines when
+ * {@code app.tracing.file.path} is set.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing.file", name = "path")
+    SpanExporter jsonLinesSpanExporter(@Value("${app.tracing.file.path}") Path path) throws IOException {
+        return new JsonLinesSpanExporter(path);
+    }
+
+    @Bean
+    SpanExporters spanExporters(ObjectProvider<SpanExporter> exporters,
+                                @Value("${app.tracing.sample-ratio:0.1}") double ratio,
+                                @Value("${app.tracing.slow-threshold:PT1S}") Duration slowThreshold,
+                                @Value("${app.tracing.decision-wait:PT1M}") Duration decisionWait,
+                                @Value("${app.tracing.max-pending-traces:10000}") long maxPendingTraces) {
+        List<SpanExporter> targets = exporters.orderedStream().toList();
+        if (targets.isEmpty()) {
+            return SpanExporters.of(List.of());
+        }
+        return SpanExporters.of(new TailSamplingSpanExporter(
+                SpanExporter.composite(targets), ratio, slowThreshold, decisionWait, maxPendingTraces));
+    }
+
+    @Bean
+    public static BeanPostProcessor repositorySpanPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factory) {
+                    factory.addRepositoryFactoryCustomizer(repositories -> repositories.addRepositoryProxyPostProcessor(
+                            (proxy, info) -> proxy.addAdvice(new RepositorySpanInterceptor(
+                                    tracer, info.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.task.reifensbank.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Replaces the auto-configured datasource with primary + read replicas when
+ * {@code app.datasource.routing.enabled=true}. The primary keeps all {@code spring.datasource.*}
+ * and {@code spring.datasource.hikari.*} settings; replicas inherit them and override URL, credentials
+ * and pool size.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReadReplicaProperties properties) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            replicas.add(replicaPool(primaryDataSource, properties.replicas().get(i), i));
+        }
+        log.info("Read replica routing enabled: {} replica(s), sticky window {} ms", replicas.size(), properties.stickyWindowMs());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.stickyWindowMs());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource replicaPool(HikariDataSource primary, ReadReplicaProperties.Replica replica, int index) {
+        HikariConfig cfg = new HikariConfig();
+        primary.copyStateTo(cfg);
+        cfg.setJdbcUrl(replica.url());
+        if (Objects.nonNull(replica.username()) && !replica.username().isBlank()) {
+            cfg.setUsername(replica.username());
+        }
+        if (Objects.nonNull(replica.password()) && !replica.password().isBlank()) {
+            cfg.setPassword(replica.password());
+        }
+        if (Objects.nonNull(replica.maximumPoolSize())) {
+            cfg.setMaximumPoolSize(replica.maximumPoolSize());
+        }
+        cfg.setPoolName("replica-" + index);
+        cfg.setReadOnly(true);
+        return new HikariDataSource(cfg);
+    }
+}
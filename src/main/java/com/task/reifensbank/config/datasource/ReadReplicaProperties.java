@@ -0,0 +1,29 @@
+package com.task.reifensbank.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * {@code app.datasource.routing.*} – read replicas used for {@code @Transactional(readOnly = true)} work.
+ *
+ * @param enabled        turns routing on; when off the auto-configured single datasource is used
+ * @param stickyWindowMs after a user's read-write transaction commits, that user's reads stay on the primary
+ *                       for this long (read-your-writes); {@code 0} disables stickiness
+ * @param replicas       one entry per replica, each gets its own Hikari pool
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record ReadReplicaProperties(boolean enabled, long stickyWindowMs, List<Replica> replicas) {
+
+    public ReadReplicaProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+    }
+
+    /**
+     * @param username        defaults to the primary's username when blank
+     * @param password        defaults to the primary's password when blank
+     * @param maximumPoolSize defaults to the primary's pool size when {@code null}
+     */
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.task.reifensbank.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica (round-robin) and everything else to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * read-only flag of a transaction is only known after the transaction manager has begun it.
+ * <p>
+ * Read-your-writes: when a read-write transaction of an authenticated user commits, that user's read-only
+ * transactions keep going to the primary for {@code stickyWindowMs}. The window starts at commit, so a long write
+ * (an upload to object storage, say) cannot outlast it before its data is visible. Tracking is per node.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final List<String> replicaKeys;
+    private final List<HikariDataSource> replicas;
+    private final long stickyWindowNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, long stickyWindowMs) {
+        this.replicas = List.copyOf(replicas);
+        this.stickyWindowNanos = stickyWindowMs * 1_000_000L;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicaKeys = this.replicas.stream().map(HikariDataSource::getPoolName).toList();
+        for (HikariDataSource replica : this.replicas) {
+            targets.put(replica.getPoolName(), replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String user = currentUser();
+
+        if (!readOnly) {
+            if (stickyWindowNanos > 0 && Objects.nonNull(user) && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        rememberWrite(user);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || isSticky(user)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private boolean isSticky(String user) {
+        if (stickyWindowNanos <= 0 || Objects.isNull(user)) {
+            return false;
+        }
+        Long wroteAt = lastWriteByUser.get(user);
+        return Objects.nonNull(wroteAt) && System.nanoTime() - wroteAt < stickyWindowNanos;
+    }
+
+    private void rememberWrite(String user) {
+        long now = System.nanoTime();
+        lastWriteByUser.put(user, now);
+        if (lastWriteByUser.size() > PURGE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(t -> now - t >= stickyWindowNanos);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return Objects.nonNull(auth) && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)
+                ? auth.getName() : null;
+    }
+}
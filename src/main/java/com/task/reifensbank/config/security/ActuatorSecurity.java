@@ -0,0 +1,50 @@
+package com.task.reifensbank.config.security;
+
+import com.task.reifensbank.enums.AuthorityEnum;
+import com.task.reifensbank.security.JwtAuthenticationFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Probes and the Prometheus scrape are anonymous; keep the actuator off the public network
+ * (e.g. {@code management.server.port}) in production. {@code /actuator/jfr} needs a bearer token with
+ * {@code PROFILE_APPLICATION}, {@code /actuator/contentindex} and {@code /actuator/revocations} one with
+ * {@code OPERATE_APPLICATION}.
+ * Anything else under {@code /actuator} is denied.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.security", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ActuatorSecurity {
+
+    private final JwtAuthenticationFilter jwt;
+
+    public ActuatorSecurity(JwtAuthenticationFilter jwt) {
+        this.jwt = jwt;
+    }
+
+    @Bean
+    @Order(5)
+    SecurityFilterChain actuatorChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll();
+                    auth.requestMatchers("/actuator/prometheus").permitAll();
+                    auth.requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasAuthority(AuthorityEnum.PROFILE_APPLICATION.name());
+                    auth.requestMatchers("/actuator/contentindex", "/actuator/revocations", "/actuator/revocations/**")
+                            .hasAuthority(AuthorityEnum.OPERATE_APPLICATION.name());
+                    auth.anyRequest().denyAll();
+                })
+                .addFilterBefore(jwt, UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+}
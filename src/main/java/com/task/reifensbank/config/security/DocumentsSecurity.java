@@ -36,6 +36,9 @@ public class DocumentsSecurity {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers(HttpMethod.GET, "/documents").hasAuthority(AuthorityEnum.VIEW_DOCUMENT.name());
+                    auth.requestMatchers(HttpMethod.GET, "/documents/search").hasAuthority(AuthorityEnum.VIEW_DOCUMENT.name());
+                    auth.requestMatchers(HttpMethod.GET, "/documents/content-search").hasAuthority(AuthorityEnum.VIEW_DOCUMENT.name());
                     auth.requestMatchers(HttpMethod.POST, "/documents").hasAuthority(AuthorityEnum.CREATE_DOCUMENT.name());
                     auth.requestMatchers(HttpMethod.PATCH, "/documents/*").hasAuthority(AuthorityEnum.EDIT_DOCUMENT.name());
                     auth.requestMatchers(HttpMethod.PUT, "/documents/*/content").hasAuthority(AuthorityEnum.EDIT_DOCUMENT.name());
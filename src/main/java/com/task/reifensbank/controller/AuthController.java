@@ -3,8 +3,11 @@ package com.task.reifensbank.controller;
 import com.task.reifensbank.api.AuthApi;
 import com.task.reifensbank.model.LoginRequest;
 import com.task.reifensbank.model.LoginResponse;
+import com.task.reifensbank.model.RefreshRequest;
 import com.task.reifensbank.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -13,10 +16,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController implements AuthApi {
 
     private final AuthService authService;
+    private final HttpServletRequest httpRequest;
 
     @Override
     public ResponseEntity<LoginResponse> authLogin(LoginRequest loginRequest) {
-        LoginResponse response = authService.login(loginRequest);
+        LoginResponse response = authService.login(loginRequest, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public ResponseEntity<LoginResponse> authRefresh(RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    @Override
+    public ResponseEntity<Void> authLogout(RefreshRequest refreshRequest) {
+        String header = httpRequest.getHeader(HttpHeaders.AUTHORIZATION);
+        String accessToken = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+        authService.logout(refreshRequest.getRefreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -3,7 +3,11 @@ package com.task.reifensbank.controller;
 import com.task.reifensbank.api.DocumentsApi;
 import com.task.reifensbank.model.Document;
 import com.task.reifensbank.model.DocumentContentInfo;
+import com.task.reifensbank.model.DocumentContentSearchResult;
+import com.task.reifensbank.model.DocumentPage;
+import com.task.reifensbank.model.DocumentSearchPage;
 import com.task.reifensbank.model.DocumentsUpdateMetadataRequest;
+import com.task.reifensbank.usecase.ContentSearchAppService;
 import com.task.reifensbank.usecase.DocumentsAppService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
@@ -14,6 +18,7 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +27,29 @@ import java.util.UUID;
 public class DocumentsController implements DocumentsApi {
 
     private final DocumentsAppService documentsAppService;
+    private final ContentSearchAppService contentSearchAppService;
+
+    @Override
+    public ResponseEntity<DocumentPage> documentsList(
+            String uploadedBy,
+            String type,
+            OffsetDateTime createdFrom,
+            OffsetDateTime createdTo,
+            Integer limit,
+            String cursor
+    ) {
+        return documentsAppService.list(uploadedBy, type, createdFrom, createdTo, limit, cursor);
+    }
+
+    @Override
+    public ResponseEntity<DocumentSearchPage> documentsSearch(String q, Integer page, Integer size) {
+        return documentsAppService.search(q, page, size);
+    }
+
+    @Override
+    public ResponseEntity<DocumentContentSearchResult> documentsContentSearch(String q, Integer limit) {
+        return contentSearchAppService.search(q, limit);
+    }
 
     @Override
     public ResponseEntity<com.task.reifensbank.model.Document> documentsCreate(
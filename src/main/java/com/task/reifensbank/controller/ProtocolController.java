@@ -3,6 +3,7 @@ package com.task.reifensbank.controller;
 import com.task.reifensbank.api.ProtocolsApi;
 import com.task.reifensbank.model.Protocol;
 import com.task.reifensbank.model.ProtocolCreate;
+import com.task.reifensbank.model.ProtocolSearchPage;
 import com.task.reifensbank.model.ProtocolStateUpdate;
 import com.task.reifensbank.model.ProtocolUpdate;
 import com.task.reifensbank.usecase.ProtocolsAppService;
@@ -28,6 +29,11 @@ public class ProtocolController implements ProtocolsApi {
         return protocolsAppService.getById(id);
     }
 
+    @Override
+    public ResponseEntity<ProtocolSearchPage> protocolsSearch(String q, Integer page, Integer size) {
+        return protocolsAppService.search(q, page, size);
+    }
+
     @Override
     public ResponseEntity<Protocol> protocolsUpdateAll(UUID id, ProtocolUpdate protocolUpdate) {
         return protocolsAppService.updateAll(id, protocolUpdate);
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.OffsetDateTime;
 import java.util.LinkedHashSet;
@@ -17,7 +18,8 @@ import java.util.UUID;
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_id_gen")
+    @SequenceGenerator(name = "document_id_gen", sequenceName = "document_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -46,6 +48,7 @@ public class Document {
     private User uploadedBy;
 
     @NotNull
+    @PartitionKey
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
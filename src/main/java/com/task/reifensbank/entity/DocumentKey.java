@@ -0,0 +1,32 @@
+package com.task.reifensbank.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Global identity of a {@link Document}, kept by a trigger outside the partitioned {@code document} table.
+ * Resolves a public id to the partition key so lookups touch a single partition.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "document_key")
+public class DocumentKey {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "public_id", nullable = false)
+    private UUID publicId;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.OffsetDateTime;
 import java.util.LinkedHashSet;
@@ -18,7 +19,8 @@ import java.util.UUID;
 public class Protocol {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "protocol_id_gen")
+    @SequenceGenerator(name = "protocol_id_gen", sequenceName = "protocol_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -50,6 +52,7 @@ public class Protocol {
     private User updatedBy;
 
     @NotNull
+    @PartitionKey
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
@@ -0,0 +1,35 @@
+package com.task.reifensbank.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Global identity of a {@link Protocol}, kept by a trigger outside the partitioned {@code protocol} table.
+ * Resolves a public id to the partition key so lookups touch a single partition.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "protocol_key")
+public class ProtocolKey {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "public_id", nullable = false)
+    private UUID publicId;
+
+    @Column(name = "code", columnDefinition = "text")
+    private String code;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+}
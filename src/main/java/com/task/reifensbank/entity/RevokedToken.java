@@ -0,0 +1,33 @@
+package com.task.reifensbank.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken {
+
+    /**
+     * {@code j:<jti>} for a single token, {@code s:<username>} for all tokens of a user issued before {@link #revokedAt}.
+     */
+    @Id
+    @Column(name = "token_key", nullable = false, columnDefinition = "text")
+    private String tokenKey;
+
+    @NotNull
+    @Column(name = "revoked_at", nullable = false)
+    private OffsetDateTime revokedAt;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+}
@@ -17,7 +17,8 @@ import java.util.UUID;
 @Table(name = "\"user\"")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_gen")
+    @SequenceGenerator(name = "user_id_gen", sequenceName = "user_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -49,6 +50,13 @@ public class User {
     @Column(name = "last_login", nullable = false)
     private OffsetDateTime lastLogin;
 
+    /**
+     * Bumped by database triggers on password, username, role or authority changes (read-only here).
+     */
+    @ColumnDefault("0")
+    @Column(name = "security_version", nullable = false, insertable = false, updatable = false)
+    private long securityVersion;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_role",
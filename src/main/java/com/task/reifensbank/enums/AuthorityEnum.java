@@ -6,5 +6,7 @@ public enum AuthorityEnum {
     VIEW_DOCUMENT,
     CREATE_PROTOCOL,
     EDIT_PROTOCOL,
-    VIEW_PROTOCOL;
+    VIEW_PROTOCOL,
+    PROFILE_APPLICATION,
+    OPERATE_APPLICATION;
 }
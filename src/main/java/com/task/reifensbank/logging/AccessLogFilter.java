@@ -0,0 +1,223 @@
+package com.task.reifensbank.logging;
+
+import com.task.reifensbank.util.UuidV7;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * One structured access-log event per request, written after the response is complete.
+ * <p>
+ * Runs ahead of Spring Security, so rejected requests (401/403) are logged too; requests whose handler throws
+ * are logged as 500 before the exception propagates. Sets the {@code correlationId}
+ * MDC entry for every log line of the request (taken from a well-formed {@code X-Request-Id} header, otherwise
+ * a new UUIDv7) and echoes it in the response. 2xx responses are logged with probability
+ * {@code app.access-log.success-sample-rate}; everything else always is. The {@code access} logger goes to an
+ * asynchronous, non-blocking JSON appender ({@code logback-spring.xml}), so the request thread only enqueues.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final Logger ACCESS = LoggerFactory.getLogger("access");
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final boolean enabled;
+    private final double successSampleRate;
+
+    public AccessLogFilter(@Value("${app.access-log.enabled:true}") boolean enabled,
+                           @Value("${app.access-log.success-sample-rate:1.0}") double successSampleRate) {
+        this.enabled = enabled;
+        this.successSampleRate = successSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        String correlationId = incoming != null && VALID_REQUEST_ID.matcher(incoming).matches()
+                ? incoming
+                : UuidV7.next().toString();
+        response.setHeader(REQUEST_ID_HEADER, correlationId);
+        MDC.put(CORRELATION_ID, correlationId);
+
+        long start = System.nanoTime();
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            chain.doFilter(request, counting);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new LogOnCompletion(request, counting, start, correlationId));
+            } else {
+                log(request, counting, start, counting.getStatus());
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            // the container answers 500 only after this filter – the response still says 200 unless already sent
+            log(request, counting, start, counting.isCommitted()
+                    ? counting.getStatus()
+                    : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            throw e;
+        } finally {
+            MDC.remove(CORRELATION_ID);
+        }
+    }
+
+    void log(HttpServletRequest request, CountingResponse response, long startNanos, int status) {
+        if (!enabled) {
+            return;
+        }
+        if (status >= 200 && status < 300 && !sampled()) {
+            return;
+        }
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        LoggingEventBuilder event = ACCESS.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI());
+        String operation = operation(request);
+        if (operation != null) {
+            event = event.addKeyValue("operation", operation);
+        }
+        event.addKeyValue("status", status)
+                .addKeyValue("durationMs", micros / 1000.0)
+                .addKeyValue("bytes", response.bytes())
+                .log("{} {} {}", request.getMethod(), request.getRequestURI(), status);
+    }
+
+    private boolean sampled() {
+        return successSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < successSampleRate;
+    }
+
+    private static String operation(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod method ? method.getMethod().getName() : null;
+    }
+
+    /**
+     * Streamed responses finish after the filter returned; log them when the async request completes.
+     */
+    private final class LogOnCompletion implements AsyncListener {
+        private final HttpServletRequest request;
+        private final CountingResponse response;
+        private final long start;
+        private final String correlationId;
+
+        private LogOnCompletion(HttpServletRequest request, CountingResponse response, long start, String correlationId) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+            this.correlationId = correlationId;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            MDC.put(CORRELATION_ID, correlationId);
+            try {
+                log(request, response, start, response.getStatus());
+            } finally {
+                MDC.remove(CORRELATION_ID);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Counts body bytes written through {@link #getOutputStream()}; falls back to {@code Content-Length}.
+     */
+    static final class CountingResponse extends HttpServletResponseWrapper {
+        private long count;
+        private ServletOutputStream stream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytes() {
+            if (count > 0) {
+                return count;
+            }
+            String length = getHeader("Content-Length");
+            try {
+                return length != null ? Long.parseLong(length) : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        count++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        count += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+}
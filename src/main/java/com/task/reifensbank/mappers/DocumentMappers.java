@@ -1,6 +1,9 @@
 package com.task.reifensbank.mappers;
 
 import com.task.reifensbank.entity.Document;
+import com.task.reifensbank.model.DocumentSearchHit;
+import com.task.reifensbank.repository.projection.DocumentSearchRow;
+import com.task.reifensbank.repository.projection.DocumentSummary;
 
 
 public final class DocumentMappers {
@@ -8,12 +11,41 @@ public final class DocumentMappers {
     }
 
     public static com.task.reifensbank.model.Document toModel(Document e) {
+        return toModel(e, e.getUploadedBy() != null ? e.getUploadedBy().getUsername() : null);
+    }
+
+    /**
+     * For a document whose uploader is only an unloaded reference (e.g. right after create) and whose
+     * name the caller already knows.
+     */
+    public static com.task.reifensbank.model.Document toModel(Document e, String uploaderName) {
         com.task.reifensbank.model.Document m = new com.task.reifensbank.model.Document();
         m.setId(e.getPublicId());
         m.setName(e.getFilename());
         m.setType(e.getContentType());
-        m.setCreatedBy(e.getUploadedBy().getUsername());
+        m.setCreatedBy(uploaderName);
         m.setCreatedAt(e.getCreatedAt());
         return m;
     }
+
+    public static com.task.reifensbank.model.Document toSummaryModel(DocumentSummary s) {
+        com.task.reifensbank.model.Document m = new com.task.reifensbank.model.Document();
+        m.setId(s.publicId());
+        m.setName(s.filename());
+        m.setType(s.contentType());
+        m.setCreatedBy(s.uploadedBy());
+        m.setCreatedAt(s.createdAt());
+        return m;
+    }
+
+    public static DocumentSearchHit toSearchHit(DocumentSearchRow r) {
+        DocumentSearchHit m = new DocumentSearchHit();
+        m.setId(r.publicId());
+        m.setName(r.filename());
+        m.setType(r.contentType());
+        m.setCreatedBy(r.uploadedBy());
+        m.setCreatedAt(r.createdAt());
+        m.setRank(r.rank());
+        return m;
+    }
 }
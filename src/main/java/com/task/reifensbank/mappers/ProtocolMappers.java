@@ -3,7 +3,9 @@ package com.task.reifensbank.mappers;
 import com.task.reifensbank.entity.Document;
 import com.task.reifensbank.entity.Protocol;
 import com.task.reifensbank.enums.ProtocolStatusEnum;
+import com.task.reifensbank.model.ProtocolSearchHit;
 import com.task.reifensbank.model.ProtocolState;
+import com.task.reifensbank.repository.projection.ProtocolSearchRow;
 import lombok.experimental.UtilityClass;
 
 import java.util.Set;
@@ -30,6 +32,19 @@ public class ProtocolMappers {
         return model;
     }
 
+    public ProtocolSearchHit toSearchHit(ProtocolSearchRow row) {
+        if (row == null) return null;
+
+        ProtocolSearchHit hit = new ProtocolSearchHit();
+        hit.setId(row.publicId());
+        hit.setCode(row.code());
+        hit.setTitle(row.title());
+        hit.setState(toStateModel(row.status()));
+        hit.setCreatedAt(row.createdAt());
+        hit.setRank(row.rank());
+        return hit;
+    }
+
     private ProtocolState toStateModel(ProtocolStatusEnum status) {
         if (status == null) return null;
         try {
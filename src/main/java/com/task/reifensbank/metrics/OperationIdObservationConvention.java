@@ -0,0 +1,36 @@
+package com.task.reifensbank.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds an {@code operation} tag to {@code http.server.requests}: the OpenAPI {@code operationId}, which is the
+ * name of the generated {@code *Api} method the controller implements (e.g. {@code documentsCreate}).
+ * <p>
+ * The value set is the set of handler methods, so cardinality stays bounded; path variables never end up
+ * in tags ({@code uri} is the route template). Requests that reached no handler get {@code none}.
+ */
+public class OperationIdObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String OPERATION = "operation";
+    private static final KeyValue NONE = KeyValue.of(OPERATION, "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(operation(context));
+    }
+
+    private static KeyValue operation(ServerRequestObservationContext context) {
+        if (context.getCarrier() == null) {
+            return NONE;
+        }
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod method
+                ? KeyValue.of(OPERATION, method.getMethod().getName())
+                : NONE;
+    }
+}
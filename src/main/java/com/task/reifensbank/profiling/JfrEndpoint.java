@@ -0,0 +1,78 @@
+package com.task.reifensbank.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code /actuator/jfr}:
+ * <ul>
+ *     <li>{@code GET} – recordings</li>
+ *     <li>{@code POST {"profile": "default|profile", "duration": "60s"}} – start a recording</li>
+ *     <li>{@code POST /{id}} – stop it early</li>
+ *     <li>{@code GET /{id}} – the {@code .jfr} file (a snapshot while running; {@code continuous} for the always-on one)</li>
+ *     <li>{@code DELETE /{id}} – discard it</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(60);
+
+    private final JfrRecordings recordings;
+
+    @ReadOperation
+    public List<JfrRecordings.RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String profile, @Nullable Duration duration)
+            throws IOException, ParseException {
+        try {
+            return new WebEndpointResponse<>(recordings.start(
+                    profile != null ? profile : "default",
+                    duration != null ? duration : DEFAULT_DURATION));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordings.RecordingInfo> stop(@Selector String id) {
+        return recordings.stop(id)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String id) throws IOException {
+        return recordings.open(id)
+                .<WebEndpointResponse<Resource>>map(in -> new WebEndpointResponse<>(new InputStreamResource(in)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector String id) throws IOException {
+        return new WebEndpointResponse<>(recordings.delete(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT
+                : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,195 @@
+package com.task.reifensbank.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Java Flight Recorder recordings of this JVM.
+ * <ul>
+ *     <li>on demand: JDK preset {@code default} (~1 % overhead) or {@code profile} (~2 %, more allocation and
+ *     lock detail), bounded by {@code app.jfr.max-duration} and {@code app.jfr.max-recordings}; written to
+ *     {@code app.jfr.directory} when stopped</li>
+ *     <li>{@value #CONTINUOUS} ({@code app.jfr.continuous.enabled}): always-on {@code default} recording kept in
+ *     JFR's on-disk repository, limited by {@code max-age} / {@code max-size}; a dump holds the last minutes</li>
+ * </ul>
+ * Both include {@link StorageTransferEvent} and {@link RepositoryCallEvent} (threshold
+ * {@code app.jfr.slow-repository-call}).
+ */
+@Component
+@Slf4j
+public class JfrRecordings {
+
+    public static final String CONTINUOUS = "continuous";
+    private static final Set<String> PROFILES = Set.of("default", "profile");
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final int maxRecordings;
+    private final Duration slowRepositoryCall;
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final DataSize continuousMaxSize;
+
+    private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+    private Recording continuous;
+
+    public JfrRecordings(@Value("${app.jfr.directory:${java.io.tmpdir}/reifensbank-jfr}") Path directory,
+                         @Value("${app.jfr.max-duration:PT10M}") Duration maxDuration,
+                         @Value("${app.jfr.max-recordings:2}") int maxRecordings,
+                         @Value("${app.jfr.slow-repository-call:PT0.02S}") Duration slowRepositoryCall,
+                         @Value("${app.jfr.continuous.enabled:false}") boolean continuousEnabled,
+                         @Value("${app.jfr.continuous.max-age:PT30M}") Duration continuousMaxAge,
+                         @Value("${app.jfr.continuous.max-size:256MB}") DataSize continuousMaxSize) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxRecordings = maxRecordings;
+        this.slowRepositoryCall = slowRepositoryCall;
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = continuousMaxAge;
+        this.continuousMaxSize = continuousMaxSize;
+    }
+
+    @PostConstruct
+    synchronized void startContinuous() throws IOException, ParseException {
+        if (!continuousEnabled) {
+            return;
+        }
+        continuous = new Recording(Configuration.getConfiguration("default"));
+        continuous.setName(CONTINUOUS);
+        continuous.setToDisk(true);
+        continuous.setMaxAge(continuousMaxAge);
+        continuous.setMaxSize(continuousMaxSize.toBytes());
+        enableApplicationEvents(continuous);
+        continuous.start();
+        log.info("Continuous JFR recording started (max-age {}, max-size {})", continuousMaxAge, continuousMaxSize);
+    }
+
+    public synchronized RecordingInfo start(String profile, Duration duration) throws IOException, ParseException {
+        if (!PROFILES.contains(profile)) {
+            throw new IllegalArgumentException("Unknown profile '" + profile + "', expected one of " + PROFILES);
+        }
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be positive and at most " + maxDuration);
+        }
+        long running = recordings.values().stream().filter(r -> r.getState() == RecordingState.RUNNING).count();
+        if (running >= maxRecordings) {
+            throw new IllegalStateException(running + " recording(s) already running");
+        }
+
+        Files.createDirectories(directory);
+        Recording recording = new Recording(Configuration.getConfiguration(profile));
+        recording.setName("on-demand-" + profile);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setDestination(directory.resolve("recording-" + recording.getId() + ".jfr"));
+        enableApplicationEvents(recording);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("JFR recording {} started: profile={}, duration={}", recording.getId(), profile, duration);
+        return RecordingInfo.of(recording);
+    }
+
+    public synchronized List<RecordingInfo> list() {
+        List<RecordingInfo> all = new ArrayList<>();
+        if (continuous != null) {
+            all.add(RecordingInfo.of(continuous));
+        }
+        recordings.values().forEach(r -> all.add(RecordingInfo.of(r)));
+        return all;
+    }
+
+    public synchronized Optional<RecordingInfo> stop(String id) {
+        return onDemand(id).map(recording -> {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                log.info("JFR recording {} stopped", recording.getId());
+            }
+            return RecordingInfo.of(recording);
+        });
+    }
+
+    /**
+     * The recording's data: the written file once stopped; while running, a snapshot of what has been recorded
+     * so far, in a temporary file that is deleted when the stream is closed.
+     */
+    public synchronized Optional<InputStream> open(String id) throws IOException {
+        Recording recording = CONTINUOUS.equals(id) ? continuous : onDemand(id).orElse(null);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        // with a destination, JFR writes the file and closes the recording when it stops
+        if (recording.getState() != RecordingState.RUNNING && recording.getDestination() != null) {
+            return Optional.of(Files.newInputStream(recording.getDestination()));
+        }
+        Files.createDirectories(directory);
+        Path snapshot = Files.createTempFile(directory, "snapshot-" + id + "-", ".jfr");
+        recording.dump(snapshot);
+        return Optional.of(Files.newInputStream(snapshot, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+
+    public synchronized boolean delete(String id) throws IOException {
+        Optional<Recording> recording = onDemand(id);
+        if (recording.isEmpty()) {
+            return false;
+        }
+        Path file = recording.get().getDestination();
+        recording.get().close();
+        recordings.remove(recording.get().getId());
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    synchronized void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+        if (continuous != null) {
+            continuous.close();
+        }
+    }
+
+    private void enableApplicationEvents(Recording recording) {
+        recording.enable(StorageTransferEvent.class);
+        recording.enable(RepositoryCallEvent.class).withThreshold(slowRepositoryCall);
+    }
+
+    private Optional<Recording> onDemand(String id) {
+        try {
+            return Optional.ofNullable(recordings.get(Long.parseLong(id)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public record RecordingInfo(String id, String name, String state, Instant startTime, Duration duration, long size) {
+
+        static RecordingInfo of(Recording r) {
+            String id = CONTINUOUS.equals(r.getName()) ? CONTINUOUS : Long.toString(r.getId());
+            return new RecordingInfo(id, r.getName(), r.getState().name(), r.getStartTime(), r.getDuration(), r.getSize());
+        }
+    }
+}
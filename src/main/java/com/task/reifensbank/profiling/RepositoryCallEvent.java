@@ -0,0 +1,30 @@
+package com.task.reifensbank.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A repository call that took at least the recording's threshold ({@code app.jfr.slow-repository-call}),
+ * with the caller's stack trace.
+ */
+@Name("com.task.reifensbank.RepositoryCall")
+@Label("Slow Repository Call")
+@Description("Spring Data repository method slower than the threshold")
+@Category({"Reifensbank", "Database"})
+@Threshold("20 ms")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows")
+    @Description("Rows returned, or changed by a @Modifying query; -1 if not a row count")
+    public long rows;
+}
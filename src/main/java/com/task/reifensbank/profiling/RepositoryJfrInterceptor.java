@@ -0,0 +1,42 @@
+package com.task.reifensbank.profiling;
+
+import com.task.reifensbank.tracing.RepositorySpanInterceptor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Emits a {@link RepositoryCallEvent} per repository call while a recording has the event enabled;
+ * JFR drops the ones under the threshold.
+ */
+public class RepositoryJfrInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryJfrInterceptor(String repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean completed = false;
+        try {
+            result = invocation.proceed();
+            completed = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.rows = completed ? RepositorySpanInterceptor.rows(invocation, result) : -1;
+                event.commit();
+            }
+        }
+    }
+}
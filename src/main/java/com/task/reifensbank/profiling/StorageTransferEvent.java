@@ -0,0 +1,33 @@
+package com.task.reifensbank.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One MinIO call ({@code put} / {@code get} / {@code delete}), emitted by {@code ObservedStorageService}.
+ */
+@Name("com.task.reifensbank.StorageTransfer")
+@Label("Storage Transfer")
+@Description("Object storage call; get measures opening the object, not reading it")
+@Category({"Reifensbank", "Storage"})
+@StackTrace(false)
+public class StorageTransferEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Object Key")
+    public String objectKey;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
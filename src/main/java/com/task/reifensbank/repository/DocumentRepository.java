@@ -1,23 +1,74 @@
 package com.task.reifensbank.repository;
 
 import com.task.reifensbank.entity.Document;
+import com.task.reifensbank.repository.projection.DocumentContentRef;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface DocumentRepository extends JpaRepository<Document, Long> {
+public interface DocumentRepository extends JpaRepository<Document, Long>, DocumentRepositoryCustom {
+    /**
+     * The partition key is resolved through {@code document_key} first, so only one partition is searched.
+     */
     @EntityGraph(attributePaths = "uploadedBy")
-    Optional<Document> findByPublicId(UUID publicId);
+    @Query("""
+              select d
+              from Document d
+              where d.publicId = :publicId
+                and d.createdAt = (select k.createdAt from DocumentKey k where k.publicId = :publicId)
+            """)
+    Optional<Document> findByPublicId(@Param("publicId") UUID publicId);
 
+    /**
+     * Batch variant of {@link #findByPublicId}. The partition keys are read from {@code document_key} first and
+     * bound as values: a {@code created_at in (subquery)} would be planned as a semi-join scanning every partition.
+     */
+    default List<Document> findAllByPublicIdIn(Collection<UUID> publicIds) {
+        Set<OffsetDateTime> createdAts = new HashSet<>(findCreatedAtByPublicIdIn(publicIds));
+        return createdAts.isEmpty() ? List.of() : findAllByPublicIdInAndCreatedAtIn(publicIds, createdAts);
+    }
+
+    @Query("select k.createdAt from DocumentKey k where k.publicId in :publicIds")
+    List<OffsetDateTime> findCreatedAtByPublicIdIn(@Param("publicIds") Collection<UUID> publicIds);
+
+    @EntityGraph(attributePaths = "uploadedBy")
     @Query("""
-              select (count(p) > 0)
+              select d
               from Document d
-              join d.protocols p
-              where d.publicId = :id
+              where d.publicId in :publicIds
+                and d.createdAt in :createdAts
             """)
+    List<Document> findAllByPublicIdInAndCreatedAtIn(@Param("publicIds") Collection<UUID> publicIds,
+                                                     @Param("createdAts") Collection<OffsetDateTime> createdAts);
+
+    @Query(value = """
+              select exists(select 1
+                            from protocol_document pd
+                            join document_key k on k.id = pd.document_id
+                            where k.public_id = :id)
+            """, nativeQuery = true)
     boolean isAttachedToAnyProtocol(@Param("id") UUID id);
+
+    /**
+     * Server-side cursor over all documents; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+              select new com.task.reifensbank.repository.projection.DocumentContentRef(d.publicId, d.storagePath, d.contentType)
+              from Document d
+            """)
+    Stream<DocumentContentRef> streamContentRefs();
 }
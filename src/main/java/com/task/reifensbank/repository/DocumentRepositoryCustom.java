@@ -0,0 +1,23 @@
+package com.task.reifensbank.repository;
+
+import com.task.reifensbank.repository.projection.DocumentListFilter;
+import com.task.reifensbank.repository.projection.DocumentSearchRow;
+import com.task.reifensbank.repository.projection.DocumentSummary;
+
+import java.util.List;
+
+public interface DocumentRepositoryCustom {
+
+    /**
+     * Keyset page ordered by {@code (created_at, id)} descending.
+     * Only predicates for non-null filter fields are rendered, so the planner can pick
+     * {@code idx_document_uploaded_by} or {@code idx_document_created_at} for a range scan.
+     */
+    List<DocumentSummary> findPage(DocumentListFilter filter, int limit);
+
+    /**
+     * Ranked search over {@code filename}: word matches via {@code search_vector} (GIN) OR substring
+     * matches via the {@code pg_trgm} index. Best matches first.
+     */
+    List<DocumentSearchRow> search(String query, int offset, int limit);
+}
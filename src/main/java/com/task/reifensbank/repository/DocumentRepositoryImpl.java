@@ -0,0 +1,107 @@
+package com.task.reifensbank.repository;
+
+import com.task.reifensbank.repository.projection.DocumentListFilter;
+import com.task.reifensbank.repository.projection.DocumentSearchRow;
+import com.task.reifensbank.repository.projection.DocumentSummary;
+import com.task.reifensbank.util.LikePatterns;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+class DocumentRepositoryImpl implements DocumentRepositoryCustom {
+
+    private static final String SEARCH_SQL = """
+            select d.public_id,
+                   d.filename,
+                   d.content_type,
+                   u.username as uploaded_by,
+                   d.created_at,
+                   cast(ts_rank(d.search_vector, q.query) + similarity(d.filename, :term) as double precision) as rank
+            from "document" d
+                     cross join websearch_to_tsquery('simple', :term) as q(query)
+                     left join "user" u on u.id = d.uploaded_by
+            where d.search_vector @@ q.query
+               or d.filename ilike :pattern
+            order by rank desc, d.id desc
+            limit :limit offset :offset
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<DocumentSummary> findPage(DocumentListFilter filter, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.task.reifensbank.repository.projection.DocumentSummary(
+                    d.id, d.publicId, d.filename, d.contentType, u.username, d.createdAt)
+                from Document d
+                left join d.uploadedBy u
+                where 1 = 1
+                """);
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (Objects.nonNull(filter.uploadedById())) {
+            jpql.append(" and d.uploadedBy.id = :uploadedById");
+            params.put("uploadedById", filter.uploadedById());
+        }
+        if (Objects.nonNull(filter.contentType())) {
+            jpql.append(" and d.contentType = :contentType");
+            params.put("contentType", filter.contentType());
+        }
+        if (Objects.nonNull(filter.createdFrom())) {
+            jpql.append(" and d.createdAt >= :createdFrom");
+            params.put("createdFrom", filter.createdFrom());
+        }
+        if (Objects.nonNull(filter.createdTo())) {
+            jpql.append(" and d.createdAt < :createdTo");
+            params.put("createdTo", filter.createdTo());
+        }
+        if (Objects.nonNull(filter.afterCreatedAt()) && Objects.nonNull(filter.afterId())) {
+            // row-value comparison is rendered as-is on PostgreSQL and maps to a single index range
+            jpql.append(" and (d.createdAt, d.id) < (:afterCreatedAt, :afterId)");
+            params.put("afterCreatedAt", filter.afterCreatedAt());
+            params.put("afterId", filter.afterId());
+        }
+        jpql.append(" order by d.createdAt desc, d.id desc");
+
+        TypedQuery<DocumentSummary> query = em.createQuery(jpql.toString(), DocumentSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<DocumentSearchRow> search(String query, int offset, int limit) {
+        NativeQuery<Object[]> q = em.createNativeQuery(SEARCH_SQL)
+                .unwrap(NativeQuery.class)
+                .addScalar("public_id", StandardBasicTypes.UUID)
+                .addScalar("filename", StandardBasicTypes.STRING)
+                .addScalar("content_type", StandardBasicTypes.STRING)
+                .addScalar("uploaded_by", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.OFFSET_DATE_TIME)
+                .addScalar("rank", StandardBasicTypes.DOUBLE);
+        q.setParameter("term", query);
+        q.setParameter("pattern", LikePatterns.contains(query));
+        q.setParameter("limit", limit);
+        q.setParameter("offset", offset);
+
+        return q.getResultList().stream()
+                .map(r -> new DocumentSearchRow(
+                        (UUID) r[0],
+                        (String) r[1],
+                        (String) r[2],
+                        (String) r[3],
+                        (OffsetDateTime) r[4],
+                        (Double) r[5]))
+                .toList();
+    }
+}
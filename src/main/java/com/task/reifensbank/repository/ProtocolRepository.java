@@ -3,11 +3,35 @@ package com.task.reifensbank.repository;
 import com.task.reifensbank.entity.Protocol;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
-public interface ProtocolRepository extends JpaRepository<Protocol, Long> {
+public interface ProtocolRepository extends JpaRepository<Protocol, Long>, ProtocolRepositoryCustom {
+    /**
+     * The partition key is resolved through {@code protocol_key} first, so only one partition is searched.
+     */
     @EntityGraph(attributePaths = "documents")
-    Optional<Protocol> findByPublicId(UUID publicId);
+    @Query("""
+              select p
+              from Protocol p
+              where p.publicId = :publicId
+                and p.createdAt = (select k.createdAt from ProtocolKey k where k.publicId = :publicId)
+            """)
+    Optional<Protocol> findByPublicId(@Param("publicId") UUID publicId);
+
+    /**
+     * First number of a freshly reserved block of protocol codes.
+     */
+    @Query(value = "select nextval('protocol_code_seq')", nativeQuery = true)
+    long nextCodeBlock();
+
+    /**
+     * Size of one block, i.e. the {@code INCREMENT BY} of {@code protocol_code_seq}.
+     */
+    @Query(value = "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = 'protocol_code_seq'",
+            nativeQuery = true)
+    long codeBlockSize();
 }
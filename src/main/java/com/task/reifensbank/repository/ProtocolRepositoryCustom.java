@@ -0,0 +1,14 @@
+package com.task.reifensbank.repository;
+
+import com.task.reifensbank.repository.projection.ProtocolSearchRow;
+
+import java.util.List;
+
+public interface ProtocolRepositoryCustom {
+
+    /**
+     * Ranked search over {@code code}, {@code title} and {@code description} via {@code search_vector} (GIN),
+     * plus substring matches on {@code title} via the {@code pg_trgm} index. Best matches first.
+     */
+    List<ProtocolSearchRow> search(String query, int offset, int limit);
+}
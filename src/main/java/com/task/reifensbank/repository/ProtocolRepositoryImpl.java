@@ -0,0 +1,61 @@
+package com.task.reifensbank.repository;
+
+import com.task.reifensbank.enums.ProtocolStatusEnum;
+import com.task.reifensbank.repository.projection.ProtocolSearchRow;
+import com.task.reifensbank.util.LikePatterns;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+class ProtocolRepositoryImpl implements ProtocolRepositoryCustom {
+
+    private static final String SEARCH_SQL = """
+            select p.public_id,
+                   p.code,
+                   p.title,
+                   p.status,
+                   p.created_at,
+                   cast(ts_rank(p.search_vector, q.query) + similarity(coalesce(p.title, ''), :term) as double precision) as rank
+            from "protocol" p
+                     cross join websearch_to_tsquery('simple', :term) as q(query)
+            where p.search_vector @@ q.query
+               or p.title ilike :pattern
+            order by rank desc, p.id desc
+            limit :limit offset :offset
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProtocolSearchRow> search(String query, int offset, int limit) {
+        NativeQuery<Object[]> q = em.createNativeQuery(SEARCH_SQL)
+                .unwrap(NativeQuery.class)
+                .addScalar("public_id", StandardBasicTypes.UUID)
+                .addScalar("code", StandardBasicTypes.STRING)
+                .addScalar("title", StandardBasicTypes.STRING)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.OFFSET_DATE_TIME)
+                .addScalar("rank", StandardBasicTypes.DOUBLE);
+        q.setParameter("term", query);
+        q.setParameter("pattern", LikePatterns.contains(query));
+        q.setParameter("limit", limit);
+        q.setParameter("offset", offset);
+
+        return q.getResultList().stream()
+                .map(r -> new ProtocolSearchRow(
+                        (UUID) r[0],
+                        (String) r[1],
+                        (String) r[2],
+                        ProtocolStatusEnum.valueOf((String) r[3]),
+                        (OffsetDateTime) r[4],
+                        (Double) r[5]))
+                .toList();
+    }
+}
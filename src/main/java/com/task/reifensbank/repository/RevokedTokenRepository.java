@@ -0,0 +1,35 @@
+package com.task.reifensbank.repository;
+
+import com.task.reifensbank.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select t from RevokedToken t where t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findLiveRevokedSince(@Param("since") OffsetDateTime since, @Param("now") OffsetDateTime now);
+
+    /**
+     * Re-revoking keeps the later revocation time and the later expiry.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_token (token_key, revoked_at, expires_at)
+            VALUES (:key, :revokedAt, :expiresAt)
+            ON CONFLICT (token_key) DO UPDATE
+                SET revoked_at = GREATEST(revoked_token.revoked_at, EXCLUDED.revoked_at),
+                    expires_at = GREATEST(revoked_token.expires_at, EXCLUDED.expires_at)
+            """, nativeQuery = true)
+    int upsert(@Param("key") String key,
+               @Param("revokedAt") OffsetDateTime revokedAt,
+               @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
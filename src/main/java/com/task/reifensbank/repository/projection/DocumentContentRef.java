@@ -0,0 +1,9 @@
+package com.task.reifensbank.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Minimal pointer to a stored document binary, used when streaming over all documents.
+ */
+public record DocumentContentRef(UUID publicId, String storagePath, String contentType) {
+}
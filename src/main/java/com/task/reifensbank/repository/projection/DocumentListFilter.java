@@ -0,0 +1,17 @@
+package com.task.reifensbank.repository.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Optional filters for {@code DocumentRepository#findPage}. {@code null} fields are not applied.
+ * {@code afterCreatedAt}/{@code afterId} is the seek position (last row of the previous page).
+ */
+public record DocumentListFilter(
+        Long uploadedById,
+        String contentType,
+        OffsetDateTime createdFrom,
+        OffsetDateTime createdTo,
+        OffsetDateTime afterCreatedAt,
+        Long afterId
+) {
+}
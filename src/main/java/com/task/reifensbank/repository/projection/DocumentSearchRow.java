@@ -0,0 +1,17 @@
+package com.task.reifensbank.repository.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Ranked document search hit read straight from the native search query.
+ */
+public record DocumentSearchRow(
+        UUID publicId,
+        String filename,
+        String contentType,
+        String uploadedBy,
+        OffsetDateTime createdAt,
+        double rank
+) {
+}
@@ -0,0 +1,19 @@
+package com.task.reifensbank.repository.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only listing row. Selected with a constructor expression so listings never
+ * materialize {@link com.task.reifensbank.entity.Document} entities or touch the lazy
+ * {@code uploadedBy} association.
+ */
+public record DocumentSummary(
+        Long id,
+        UUID publicId,
+        String filename,
+        String contentType,
+        String uploadedBy,
+        OffsetDateTime createdAt
+) {
+}
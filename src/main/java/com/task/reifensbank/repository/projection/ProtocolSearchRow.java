@@ -0,0 +1,19 @@
+package com.task.reifensbank.repository.projection;
+
+import com.task.reifensbank.enums.ProtocolStatusEnum;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Ranked protocol search hit read straight from the native search query.
+ */
+public record ProtocolSearchRow(
+        UUID publicId,
+        String code,
+        String title,
+        ProtocolStatusEnum status,
+        OffsetDateTime createdAt,
+        double rank
+) {
+}
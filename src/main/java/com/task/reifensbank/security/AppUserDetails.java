@@ -0,0 +1,35 @@
+package com.task.reifensbank.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * {@link User} plus the internal {@code "user".id}, so write paths can reference the current user with
+ * {@code getReferenceById} instead of loading it by username. {@code userId} is {@code null} for principals
+ * built from tokens issued before the {@code uid} claim existed.
+ */
+@Getter
+public class AppUserDetails extends User {
+
+    private final Long userId;
+
+    public AppUserDetails(Long userId,
+                          String username,
+                          String password,
+                          boolean enabled,
+                          boolean accountNonLocked,
+                          Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, accountNonLocked, authorities);
+        this.userId = userId;
+    }
+
+    /**
+     * Independent copy; authentication erases the credentials of the instance it is given.
+     */
+    public AppUserDetails copy() {
+        return new AppUserDetails(userId, getUsername(), getPassword(), isEnabled(), isAccountNonLocked(), getAuthorities());
+    }
+}
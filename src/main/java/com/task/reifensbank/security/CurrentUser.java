@@ -0,0 +1,36 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.entity.User;
+import com.task.reifensbank.repository.UserRepository;
+import lombok.experimental.UtilityClass;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The authenticated user of the current request as seen by the services.
+ */
+@UtilityClass
+public class CurrentUser {
+
+    public String username() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : null;
+    }
+
+    /**
+     * Unloaded {@link User} proxy of the current user, good for setting {@code createdBy}/{@code updatedBy}
+     * without a query; {@code null} when unauthenticated or unknown. Principals without a user id (older
+     * tokens, foreign authentication) fall back to a single-column id lookup by username.
+     */
+    public User reference(UserRepository users) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return null;
+        }
+        Long id = auth.getPrincipal() instanceof AppUserDetails principal ? principal.getUserId() : null;
+        if (id == null) {
+            id = users.findIdByUsername(auth.getName()).orElse(null);
+        }
+        return id != null ? users.getReferenceById(id) : null;
+    }
+}
@@ -2,28 +2,35 @@ package com.task.reifensbank.security;
 
 import com.task.reifensbank.entity.User;
 import com.task.reifensbank.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.lang.reflect.Method;
 import java.util.stream.Stream;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository users;
+    private final UserDetailsCache cache;
+    private final TransactionTemplate tx;
 
-    public CustomUserDetailsService(UserRepository users) {
+    public CustomUserDetailsService(UserRepository users, UserDetailsCache cache, PlatformTransactionManager txManager) {
         this.users = users;
+        this.cache = cache;
+        this.tx = new TransactionTemplate(txManager);
     }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return cache.get(username, name -> tx.execute(status -> load(name)));
+    }
+
+    private UserDetailsCache.Versioned load(String username) {
         User u = users.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
@@ -36,50 +43,60 @@ public class CustomUserDetailsService implements UserDetailsService {
                                 .map(a -> new SimpleGrantedAuthority(resolveAuthorityName(a)))
                 ).toList();
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(resolveUsername(u))
-                .password(resolvePassword(u))
-                .authorities(authorities)
-                .disabled(!resolveEnabled(u))
-                .accountLocked(resolveLocked(u))
-                .build();
+        UserDetails details = new AppUserDetails(
+                u.getId(),
+                resolveUsername(u),
+                resolvePassword(u),
+                resolveEnabled(u),
+                !resolveLocked(u),
+                authorities);
+        return new UserDetailsCache.Versioned(details, u.getSecurityVersion());
     }
 
     /* =========================
        Helpers – for mapping entity names to springsecurity names
        ========================= */
 
+    private static final GetterChain USERNAME = GetterChain.of("getUsername", "getLogin", "getEmail", "getUserName");
+    private static final GetterChain PASSWORD = GetterChain.of("getPassword", "getPasswordHash", "getHashedPassword", "getPwdHash");
+    private static final GetterChain ENABLED = GetterChain.of("isEnabled", "getEnabled", "isActive", "getActive", "isAccountEnabled");
+    private static final GetterChain NON_LOCKED = GetterChain.of("isAccountNonLocked");
+    private static final GetterChain LOCKED = GetterChain.of("isLocked", "getLocked", "isAccountLocked");
+    private static final GetterChain ROLE_NAME = GetterChain.of("getCodeName", "getCode", "getKey", "getRoleName", "getName");
+    private static final GetterChain AUTHORITY_NAME = GetterChain.of("getCodeName", "getCode", "getKey", "getAuthority", "getValue", "getName");
+
     private static String resolveUsername(Object u) {
-        return firstNonNullString(u, "getUsername", "getLogin", "getEmail", "getUserName");
+        return requireString(u, USERNAME);
     }
 
     private static String resolvePassword(Object u) {
-        return firstNonNullString(u, "getPassword", "getPasswordHash", "getHashedPassword", "getPwdHash");
+        return requireString(u, PASSWORD);
     }
 
     private static boolean resolveEnabled(Object u) {
-        return firstBoolean(u, true, "isEnabled", "getEnabled", "isActive", "getActive", "isAccountEnabled");
+        Boolean enabled = toBoolean(ENABLED.first(u));
+        return enabled != null ? enabled : true;
     }
 
     private static boolean resolveLocked(Object u) {
-        Boolean nonLocked = invokeBoolean(u, "isAccountNonLocked");
+        Boolean nonLocked = toBoolean(NON_LOCKED.first(u));
         if (nonLocked != null) return !nonLocked;
-        Boolean locked = firstBoolean(u, null, "isLocked", "getLocked", "isAccountLocked");
+        Boolean locked = toBoolean(LOCKED.first(u));
         if (locked != null) return locked;
         return false;
     }
 
     private static String resolveRoleName(Object role) {
 
-        return firstNonNullString(role, "getCodeName", "getCode", "getKey", "getRoleName", "getName");
+        return requireString(role, ROLE_NAME);
     }
 
     private static String resolveAuthorityName(Object authority) {
-        return firstNonNullString(authority, "getCodeName", "getCode", "getKey", "getAuthority", "getValue", "getName");
+        return requireString(authority, AUTHORITY_NAME);
     }
 
     /* =========================
-       Generic reflective utils
+       Generic utils
        ========================= */
 
     private static <T> Stream<T> safeStream(Iterable<T> it) {
@@ -89,39 +106,13 @@ public class CustomUserDetailsService implements UserDetailsService {
         });
     }
 
-    private static String firstNonNullString(Object target, String... methodNames) {
-        for (String m : methodNames) {
-            String val = invokeString(target, m);
-            if (val != null && !val.isBlank()) return val;
-        }
+    private static String requireString(Object target, GetterChain getters) {
+        String val = getters.firstString(target);
+        if (val != null) return val;
         throw new IllegalStateException("No suitable string getter found on " + target.getClass().getSimpleName());
     }
 
-    private static Boolean firstBoolean(Object target, Boolean defaultVal, String... methodNames) {
-        for (String m : methodNames) {
-            Boolean val = invokeBoolean(target, m);
-            if (val != null) return val;
-        }
-        return defaultVal;
-    }
-
-    private static String invokeString(Object target, String methodName) {
-        try {
-            Method m = target.getClass().getMethod(methodName);
-            Object v = m.invoke(target);
-            return (v != null) ? v.toString() : null;
-        } catch (ReflectiveOperationException ignored) {
-            return null;
-        }
-    }
-
-    private static Boolean invokeBoolean(Object target, String methodName) {
-        try {
-            Method m = target.getClass().getMethod(methodName);
-            Object v = m.invoke(target);
-            return (v instanceof Boolean b) ? b : (v != null ? Boolean.valueOf(v.toString()) : null);
-        } catch (ReflectiveOperationException ignored) {
-            return null;
-        }
+    private static Boolean toBoolean(Object v) {
+        return (v instanceof Boolean b) ? b : (v != null ? Boolean.valueOf(v.toString()) : null);
     }
 }
@@ -0,0 +1,123 @@
+package com.task.reifensbank.security;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Ordered list of candidate no-arg getter names (e.g. {@code getUsername}, {@code getLogin}, ...).
+ * <p>
+ * Which of them exist is resolved once per target class and compiled into {@link LambdaMetafactory}
+ * accessors (plain {@link MethodHandle}s where a lambda cannot be spun, e.g. for generated proxy classes),
+ * so a call costs a {@link ClassValue} lookup plus direct getter invocations – no {@code getMethod},
+ * no {@code Method.invoke}, no {@code NoSuchMethodException}.
+ */
+final class GetterChain {
+
+    private final String[] names;
+
+    private final ClassValue<List<Function<Object, Object>>> resolved = new ClassValue<>() {
+        @Override
+        protected List<Function<Object, Object>> computeValue(Class<?> type) {
+            List<Function<Object, Object>> getters = new ArrayList<>(names.length);
+            for (String name : names) {
+                try {
+                    Method m = type.getMethod(name);
+                    if (m.getParameterCount() == 0 && m.getReturnType() != void.class) {
+                        getters.add(compile(m));
+                    }
+                } catch (NoSuchMethodException ignored) {
+                    // not part of this class – skip
+                }
+            }
+            return List.copyOf(getters);
+        }
+    };
+
+    private GetterChain(String[] names) {
+        this.names = names;
+    }
+
+    static GetterChain of(String... names) {
+        return new GetterChain(names.clone());
+    }
+
+    /**
+     * Value of the first getter that exists on {@code target} and returns non-null; {@code null} if none does.
+     * Exceptions thrown by a getter count as "no value", matching the reflective lookup this replaces.
+     */
+    Object first(Object target) {
+        for (Function<Object, Object> getter : resolved.get(target.getClass())) {
+            try {
+                Object value = getter.apply(target);
+                if (value != null) {
+                    return value;
+                }
+            } catch (RuntimeException ignored) {
+                // try the next candidate
+            }
+        }
+        return null;
+    }
+
+    /**
+     * First value whose {@code toString()} is not blank.
+     */
+    String firstString(Object target) {
+        for (Function<Object, Object> getter : resolved.get(target.getClass())) {
+            try {
+                Object value = getter.apply(target);
+                if (value != null && !value.toString().isBlank()) {
+                    return value.toString();
+                }
+            } catch (RuntimeException ignored) {
+                // try the next candidate
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compile(Method m) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(m.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(m);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    target,
+                    MethodType.methodType(m.getReturnType(), m.getDeclaringClass()).wrap()
+            );
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable lambdaNotPossible) {
+            return viaMethodHandle(m);
+        }
+    }
+
+    private static Function<Object, Object> viaMethodHandle(Method m) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(m)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Getter not accessible: " + m, e);
+        }
+        return target -> {
+            try {
+                return handle.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+}
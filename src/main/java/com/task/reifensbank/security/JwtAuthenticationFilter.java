@@ -6,26 +6,64 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Authenticates {@code Bearer} tokens.
+ * <p>
+ * {@code app.jwt.auth-mode=database} (default) loads the user on every request. {@code claims} builds the
+ * principal from the verified {@code sub}/{@code scope} claims without touching the database; role changes
+ * then apply once the token expires. Requests matching {@code app.jwt.revalidate} and tokens without a {@code scope}
+ * claim are always checked against the database. The default list covers the deletes and every write that stores the
+ * current user as {@code uploaded_by}/{@code created_by}/{@code updated_by}: a token that outlives its deleted user
+ * is rejected there instead of failing the insert on the foreign key ({@link CurrentUser#reference}).
+ * Revoked tokens ({@link TokenRevocationList}) are rejected in both modes without a database query.
+ */
 @Component
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String DEFAULT_REVALIDATE =
+            "POST /documents,DELETE /documents/*,POST /protocols,PUT /protocols/*,PATCH /protocols/*/state";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocations;
+    private final boolean claimsMode;
+    private final List<RequestMatcher> revalidate;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService uds) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService uds,
+                                   TokenRevocationList revocations,
+                                   @Value("${app.jwt.auth-mode:database}") String authMode,
+                                   @Value("${app.jwt.revalidate:" + DEFAULT_REVALIDATE + "}") String[] revalidate) {
         this.jwtService = jwtService;
         this.userDetailsService = uds;
+        this.revocations = revocations;
+        this.claimsMode = "claims".equalsIgnoreCase(authMode.trim());
+        this.revalidate = Arrays.stream(revalidate)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(JwtAuthenticationFilter::toMatcher)
+                .toList();
+        log.info("JWT authentication mode: {} ({} revalidated route(s))", claimsMode ? "claims" : "database", this.revalidate.size());
     }
 
     @Override
@@ -38,10 +76,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = header.substring(7);
             try {
                 Claims claims = jwtService.parse(token).getPayload();
+                if (revocations.isRevoked(claims)) {
+                    throw new BadCredentialsException("Token revoked");
+                }
                 String username = claims.getSubject();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails user = userDetailsService.loadUserByUsername(username);
+                    UserDetails user = useClaims(claims, request)
+                            ? fromClaims(username, claims)
+                            : userDetailsService.loadUserByUsername(username);
 
                     var auth = new UsernamePasswordAuthenticationToken(
                             user, null, user.getAuthorities());
@@ -53,4 +96,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private boolean useClaims(Claims claims, HttpServletRequest request) {
+        if (!claimsMode || claims.get(JwtService.SCOPE_CLAIM, String.class) == null) {
+            return false;
+        }
+        for (RequestMatcher matcher : revalidate) {
+            if (matcher.matches(request)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static UserDetails fromClaims(String username, Claims claims) {
+        var authorities = Arrays.stream(claims.get(JwtService.SCOPE_CLAIM, String.class).split(","))
+                .filter(a -> !a.isBlank())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        Number userId = claims.get(JwtService.USER_ID_CLAIM, Number.class);
+
+        return new AppUserDetails(userId != null ? userId.longValue() : null, username, "", true, true, authorities);
+    }
+
+    /**
+     * {@code "DELETE /documents/*"} or just {@code "/documents/**"} for any method.
+     */
+    private static RequestMatcher toMatcher(String rule) {
+        int space = rule.indexOf(' ');
+        if (space < 0) {
+            return PathPatternRequestMatcher.withDefaults().matcher(rule);
+        }
+        HttpMethod method = HttpMethod.valueOf(rule.substring(0, space).trim().toUpperCase());
+        return PathPatternRequestMatcher.withDefaults().matcher(method, rule.substring(space + 1).trim());
+    }
 }
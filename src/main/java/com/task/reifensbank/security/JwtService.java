@@ -1,35 +1,72 @@
 package com.task.reifensbank.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.task.reifensbank.util.UuidV7;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    /**
+     * Comma-separated granted authorities (roles and permissions) of the subject at login time.
+     */
+    public static final String SCOPE_CLAIM = "scope";
+
+    /**
+     * Internal {@code "user".id} of the subject, when the principal carried one ({@link AppUserDetails}).
+     */
+    public static final String USER_ID_CLAIM = "uid";
 
     private final SecretKey key;
     private final long expirationSeconds;
     private final String issuer;
+    private final JwtParser parser;
+
+    /**
+     * Verified tokens keyed by their SHA-256 digest (the raw bearer token is never kept), each entry living
+     * until the token's own {@code exp}. Bounded, so a flood of distinct tokens only evicts older entries.
+     */
+    private final Cache<ByteBuffer, Jws<Claims>> verified;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expirationSeconds}") long expirationSeconds,
-            @Value("${app.jwt.issuer}") String issuer
+            @Value("${app.jwt.issuer}") String issuer,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationSeconds = expirationSeconds;
         this.issuer = issuer;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
     }
 
     public String generate(Authentication auth) {
@@ -40,21 +77,67 @@ public class JwtService {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
+                .id(UuidV7.next().toString())
                 .subject(auth.getName())
                 .issuer(issuer)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
-                .claim("scope", authorities)
+                .claim(SCOPE_CLAIM, authorities);
+        if (auth.getPrincipal() instanceof AppUserDetails user && user.getUserId() != null) {
+            builder.claim(USER_ID_CLAIM, user.getUserId());
+        }
+        return builder
                 .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
     public Jws<Claims> parse(String token) throws JwtException {
-        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        ByteBuffer digest = digest(token);
+        Jws<Claims> cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        if (jws.getPayload().getExpiration() != null) {
+            verified.put(digest, jws);
+        }
+        return jws;
     }
 
     public long getExpirationSeconds() {
         return expirationSeconds;
     }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verified, "jwt.verified");
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Jws<Claims>> {
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, Jws<Claims> jws, long currentTime) {
+            long millis = jws.getPayload().getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
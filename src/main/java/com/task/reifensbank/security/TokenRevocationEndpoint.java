@@ -0,0 +1,47 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/revocations}:
+ * <ul>
+ *     <li>{@code GET} – live revocations mirrored on this node</li>
+ *     <li>{@code POST /{username}} – revoke every access token of the user issued up to now (e.g. a leaked
+ *     token whose {@code jti} is unknown); refresh tokens are not touched</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "revocations")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationEndpoint {
+
+    private final TokenRevocationList revocations;
+    private final UserRepository userRepository;
+
+    public record Status(int live) {
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(revocations.size());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Status> revokeSubject(@Selector String username) {
+        if (userRepository.findIdByUsername(username).isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        revocations.revokeSubject(username);
+        log.info("Access tokens of '{}' revoked", username);
+        return new WebEndpointResponse<>(status());
+    }
+}
@@ -0,0 +1,219 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.entity.RevokedToken;
+import com.task.reifensbank.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens ({@code 11_revoked_token.sql}), mirrored on every node.
+ * <p>
+ * The live rows are kept in a map fronted by a {@link BloomFilter}: a token that was never revoked – almost
+ * every request – is answered by a few bit probes and never reaches the map or the database. The mirror is
+ * refreshed every {@code app.jwt.revocation.refresh-interval} by reading rows revoked since the last
+ * refresh (minus {@code overlap}, for transactions that committed late or a lagging replica); revocations
+ * made on this node apply immediately. Expired entries are dropped and the filter is rebuilt without them
+ * once enough have gone, so its size follows the number of live revocations rather than growing forever.
+ * <p>
+ * A revoked subject rejects tokens by {@code iat}, which has second precision, while the revocation time is
+ * taken from the clock of whichever node revoked. Both are compared in whole seconds and a token counts as
+ * issued before the revocation up to {@code app.jwt.revocation.clock-tolerance} after it, so skew between nodes
+ * never lets an old token through; the price is that a token issued within the tolerance after the revocation
+ * is rejected too and the client has to log in again.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList implements MeterBinder {
+
+    static final char TOKEN = 'j';
+    static final char SUBJECT = 's';
+
+    private final RevokedTokenRepository repository;
+    private final int expectedEntries;
+    private final double fpp;
+    private final Duration overlap;
+    private final long subjectTtlSeconds;
+    private final long toleranceSeconds;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+    private volatile int capacity;
+    private int staleBits;
+    private OffsetDateTime lastRevokedAt;
+
+    public TokenRevocationList(RevokedTokenRepository repository,
+                               @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${app.jwt.revocation.fpp:0.001}") double fpp,
+                               @Value("${app.jwt.revocation.overlap:PT1M}") Duration overlap,
+                               @Value("${app.jwt.revocation.clock-tolerance:PT1S}") Duration clockTolerance,
+                               @Value("${app.jwt.expirationSeconds}") long tokenTtlSeconds) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.fpp = fpp;
+        this.overlap = overlap;
+        this.subjectTtlSeconds = tokenTtlSeconds;
+        this.toleranceSeconds = clockTolerance.toSeconds();
+        this.capacity = expectedEntries;
+        this.bloom = BloomFilter.create(expectedEntries, fpp);
+    }
+
+    record Entry(long revokedAtMillis, long expiresAtMillis) {
+        boolean live(long now) {
+            return expiresAtMillis > now;
+        }
+    }
+
+    /**
+     * {@code true} if the token itself or its subject (for tokens issued before the subject was revoked) is revoked.
+     */
+    public boolean isRevoked(Claims claims) {
+        BloomFilter filter = bloom;
+        long now = System.currentTimeMillis();
+
+        String jti = claims.getId();
+        if (jti != null && filter.mightContain(TOKEN, jti)) {
+            Entry e = entries.get(key(TOKEN, jti));
+            if (e != null && e.live(now)) {
+                return true;
+            }
+        }
+
+        String subject = claims.getSubject();
+        if (subject != null && filter.mightContain(SUBJECT, subject)) {
+            Entry e = entries.get(key(SUBJECT, subject));
+            Date issuedAt = claims.getIssuedAt();
+            return e != null && e.live(now) && (issuedAt == null || issuedBefore(issuedAt, e.revokedAtMillis()));
+        }
+        return false;
+    }
+
+    /**
+     * Live revocations mirrored on this node.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Revokes one token until its {@code exp}. Tokens without {@code jti} cannot be revoked individually.
+     */
+    @Transactional
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        revoke(TOKEN, claims.getId(), Instant.now(), claims.getExpiration().toInstant());
+    }
+
+    /**
+     * Revokes every token of {@code username} issued up to now.
+     */
+    @Transactional
+    public void revokeSubject(String username) {
+        Instant now = Instant.now();
+        revoke(SUBJECT, username, now, now.plusSeconds(subjectTtlSeconds));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval:PT5S}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime since = lastRevokedAt == null
+                ? OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC)
+                : lastRevokedAt.minus(overlap);
+
+        int added = 0;
+        for (RevokedToken row : repository.findLiveRevokedSince(since, now)) {
+            String key = row.getTokenKey();
+            Entry entry = new Entry(row.getRevokedAt().toInstant().toEpochMilli(), row.getExpiresAt().toInstant().toEpochMilli());
+            if (!entry.equals(entries.get(key))) {
+                remember(key.charAt(0), key.substring(2), entry);
+                added++;
+            }
+            if (lastRevokedAt == null || row.getRevokedAt().isAfter(lastRevokedAt)) {
+                lastRevokedAt = row.getRevokedAt();
+            }
+        }
+        if (lastRevokedAt == null) {
+            lastRevokedAt = now;
+        }
+
+        // expired entries leave stale bits behind; they only cost map lookups, so rebuild lazily
+        int before = entries.size();
+        long nowMillis = now.toInstant().toEpochMilli();
+        entries.values().removeIf(e -> !e.live(nowMillis));
+        staleBits += before - entries.size();
+        if (staleBits > capacity / 4 || entries.size() > capacity) {
+            rebuild();
+        }
+        if (added > 0) {
+            log.debug("Token revocation list: {} new/changed entr(ies), {} live", added, entries.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpired() {
+        repository.deleteExpired(OffsetDateTime.now());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revocations", entries, Map::size)
+                .description("Live access-token revocations mirrored on this node")
+                .register(registry);
+    }
+
+    private void revoke(char kind, String value, Instant revokedAt, Instant expiresAt) {
+        repository.upsert(key(kind, value),
+                OffsetDateTime.ofInstant(revokedAt, ZoneOffset.UTC),
+                OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC));
+        remember(kind, value, new Entry(revokedAt.toEpochMilli(), expiresAt.toEpochMilli()));
+    }
+
+    /**
+     * Map first, then filter: a reader that sees the bit always finds the entry. Synchronized with
+     * {@link #rebuild()} so no entry is added to a filter that is about to be replaced.
+     */
+    private synchronized void remember(char kind, String value, Entry entry) {
+        entries.merge(key(kind, value), entry, (a, b) -> new Entry(
+                Math.max(a.revokedAtMillis(), b.revokedAtMillis()),
+                Math.max(a.expiresAtMillis(), b.expiresAtMillis())));
+        bloom.put(kind, value);
+    }
+
+    private synchronized void rebuild() {
+        int size = Math.max(expectedEntries, entries.size() * 2);
+        BloomFilter next = BloomFilter.create(size, fpp);
+        for (String key : entries.keySet()) {
+            next.put(key.charAt(0), key.substring(2));
+        }
+        capacity = size;
+        staleBits = 0;
+        bloom = next;
+    }
+
+    private boolean issuedBefore(Date issuedAt, long revokedAtMillis) {
+        long issuedAtSeconds = Math.floorDiv(issuedAt.getTime(), 1000);
+        return issuedAtSeconds <= Math.floorDiv(revokedAtMillis, 1000) + toleranceSeconds;
+    }
+
+    private static String key(char kind, String value) {
+        return kind + ":" + value;
+    }
+}
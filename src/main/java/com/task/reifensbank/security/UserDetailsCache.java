@@ -0,0 +1,71 @@
+package com.task.reifensbank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Local cache of resolved {@link UserDetails} keyed by username ({@code app.security.user-cache.*}).
+ * <p>
+ * Entries remember the user's {@code security_version}; {@link UserSecurityNotificationListener} evicts
+ * them when the database announces a newer version. The TTL only bounds staleness should a notification
+ * be lost. Callers always get a copy, because authentication erases the credentials of the principal.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<String, Versioned> cache;
+
+    public UserDetailsCache(
+            @Value("${app.security.user-cache.enabled:false}") boolean enabled,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl:PT10M}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String username, Function<String, Versioned> loader) {
+        Versioned entry = enabled ? cache.get(username, loader) : loader.apply(username);
+        return entry.details() instanceof AppUserDetails details
+                ? details.copy()
+                : User.withUserDetails(entry.details()).build();
+    }
+
+    /**
+     * Evicts the user unless the cached entry is already at {@code version} or newer.
+     */
+    public void invalidate(String username, long version) {
+        cache.asMap().computeIfPresent(username, (name, cached) -> cached.version() >= version ? cached : null);
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user.details");
+    }
+
+    public record Versioned(UserDetails details, long version) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.task.reifensbank.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on the {@code user_security} channel (see {@code 09_user_security_version.sql}) and evicts
+ * changed users from {@link UserDetailsCache} on this node.
+ * <p>
+ * Uses its own connection outside the Hikari pool, since a listening connection is held forever.
+ * After every (re)connect the whole cache is dropped, as notifications sent meanwhile are lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.security.user-cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class UserSecurityNotificationListener implements SmartLifecycle {
+
+    static final String CHANNEL = "user_security";
+    private static final int POLL_TIMEOUT_MS = 5_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final UserDetailsCache cache;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public UserSecurityNotificationListener(UserDetailsCache cache,
+                                            @Value("${spring.datasource.url}") String url,
+                                            @Value("${spring.datasource.username}") String username,
+                                            @Value("${spring.datasource.password}") String password) {
+        this.cache = cache;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("user-security-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection con = DriverManager.getConnection(url, username, password)) {
+                try (Statement st = con.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                cache.invalidateAll();
+                log.info("Listening for user security changes on '{}'", CHANNEL);
+
+                PGConnection pg = con.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) {
+                            apply(cache, n.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("User security listener disconnected, retrying in {} ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Payload is {@code username:version}, or just {@code username} when the user was deleted or renamed.
+     */
+    static void apply(UserDetailsCache cache, String payload) {
+        int sep = payload.lastIndexOf(':');
+        if (sep > 0) {
+            try {
+                cache.invalidate(payload.substring(0, sep), Long.parseLong(payload.substring(sep + 1)));
+                return;
+            } catch (NumberFormatException ignored) {
+                // a username containing ':' – fall through
+            }
+        }
+        cache.invalidate(payload);
+    }
+}
@@ -1,35 +1,166 @@
 package com.task.reifensbank.service;
 
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.model.LoginRequest;
 import com.task.reifensbank.model.LoginResponse;
 import com.task.reifensbank.security.JwtService;
+import com.task.reifensbank.security.TokenRevocationList;
+import com.task.reifensbank.service.auth.LastLoginRecorder;
+import com.task.reifensbank.service.auth.LoginThrottle;
+import com.task.reifensbank.service.auth.RefreshTokenService;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Login hashes the password on the bounded {@code passwordHashExecutor}; refresh never hashes anything and
+ * reads the user through the (cached) {@link UserDetailsService}, so clients should log in once and refresh after.
+ */
 @Service
+@Slf4j
 public class AuthService {
 
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+
     private final AuthenticationManager authManager;
     private final JwtService jwt;
+    private final RefreshTokenService refreshTokens;
+    private final UserDetailsService userDetailsService;
+    private final LoginThrottle throttle;
+    private final TokenRevocationList revocations;
+    private final LastLoginRecorder lastLogin;
+    private final ThreadPoolTaskExecutor hashExecutor;
+    private final Duration hashTimeout;
 
-    public AuthService(AuthenticationManager authManager, JwtService jwt) {
+    public AuthService(AuthenticationManager authManager,
+                       JwtService jwt,
+                       RefreshTokenService refreshTokens,
+                       UserDetailsService userDetailsService,
+                       LoginThrottle throttle,
+                       TokenRevocationList revocations,
+                       LastLoginRecorder lastLogin,
+                       @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor hashExecutor,
+                       @Value("${app.auth.hashing.timeout:PT5S}") Duration hashTimeout) {
         this.authManager = authManager;
         this.jwt = jwt;
+        this.refreshTokens = refreshTokens;
+        this.userDetailsService = userDetailsService;
+        this.throttle = throttle;
+        this.revocations = revocations;
+        this.lastLogin = lastLogin;
+        this.hashExecutor = hashExecutor;
+        this.hashTimeout = hashTimeout;
+    }
+
+    public LoginResponse login(LoginRequest request, String clientAddress) {
+        throttle.acquire(request.getUsername(), clientAddress);
+
+        Authentication authentication;
+        try {
+            authentication = authenticate(request);
+        } catch (ReifensbankHttpException e) {
+            if (e.getStatus() == HttpStatus.UNAUTHORIZED) {
+                throttle.failed(clientAddress);
+            }
+            throw e;
+        }
+        throttle.reset(authentication.getName());
+        lastLogin.record(authentication.getName(), Instant.now());
+
+        return tokens(authentication, refreshTokens.issue(authentication.getName()));
+    }
+
+    public LoginResponse refresh(String refreshToken) {
+        AtomicReference<UserDetails> user = new AtomicReference<>();
+        RefreshTokenService.Issued next = refreshTokens.rotate(refreshToken, username -> user.set(activeUser(username)));
+
+        return tokens(UsernamePasswordAuthenticationToken.authenticated(user.get(), null, user.get().getAuthorities()), next);
+    }
+
+    /**
+     * Revokes the refresh token's session and, when given, the access token it was used with.
+     */
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokens.revoke(refreshToken);
+        if (accessToken != null) {
+            try {
+                revocations.revokeToken(jwt.parse(accessToken).getPayload());
+            } catch (JwtException e) {
+                log.debug("Logout with an invalid access token, nothing to revoke: {}", e.getMessage());
+            }
+        }
+    }
+
+    private UserDetails activeUser(String username) {
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            throw new ReifensbankHttpException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            throw new ReifensbankHttpException(HttpStatus.UNAUTHORIZED, "Account disabled");
+        }
+        return user;
+    }
+
+    private Authentication authenticate(LoginRequest request) {
+        Future<Authentication> result;
+        try {
+            result = hashExecutor.submit(() -> authManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())));
+        } catch (TaskRejectedException e) {
+            log.warn("Login rejected, password hashing queue is full");
+            throw new ReifensbankHttpException(HttpStatus.SERVICE_UNAVAILABLE, "Login temporarily unavailable");
+        }
+
+        try {
+            return result.get(hashTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException) {
+                throw new ReifensbankHttpException(HttpStatus.UNAUTHORIZED, INVALID_CREDENTIALS);
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            log.warn("Login timed out after {} waiting for password hashing", hashTimeout);
+            throw new ReifensbankHttpException(HttpStatus.SERVICE_UNAVAILABLE, "Login temporarily unavailable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new ReifensbankHttpException(HttpStatus.SERVICE_UNAVAILABLE, "Login temporarily unavailable");
+        }
     }
 
-    public LoginResponse login(LoginRequest request) {
-        Authentication authentication = authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
-        String token = jwt.generate(authentication);
+    private LoginResponse tokens(Authentication authentication, RefreshTokenService.Issued refresh) {
         return new LoginResponse()
-                .accessToken(token)
+                .accessToken(jwt.generate(authentication))
                 .tokenType("Bearer")
-                .expiresIn(jwt.getExpirationSeconds());
+                .expiresIn(jwt.getExpirationSeconds())
+                .refreshToken(refresh.token())
+                .refreshExpiresIn(refresh.expiresInSeconds());
     }
 }
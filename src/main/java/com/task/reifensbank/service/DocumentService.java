@@ -6,21 +6,33 @@ import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.repository.DocumentRepository;
 import com.task.reifensbank.repository.UserRepository;
+import com.task.reifensbank.repository.projection.DocumentListFilter;
+import com.task.reifensbank.repository.projection.DocumentSearchRow;
+import com.task.reifensbank.repository.projection.DocumentSummary;
+import com.task.reifensbank.security.CurrentUser;
+import com.task.reifensbank.service.event.DocumentContentStoredEvent;
+import com.task.reifensbank.service.event.DocumentDeletedEvent;
 import com.task.reifensbank.service.storage.StorageService;
-import jakarta.transaction.Transactional;
+import com.task.reifensbank.util.PageCursor;
+import com.task.reifensbank.util.UuidV7;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Service
+@Observed(name = "service")
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentService {
@@ -28,12 +40,48 @@ public class DocumentService {
     private final DocumentRepository documentRepository;
     private final UserRepository userRepository;
     private final StorageService storage;
+    private final ApplicationEventPublisher events;
 
+    @Transactional(readOnly = true)
     public Document getByPublicId(UUID id) {
         return documentRepository.findByPublicId(id)
                 .orElseThrow(() -> new ReifensbankHttpException(HttpStatus.NOT_FOUND, "Document not found"));
     }
 
+    @Transactional(readOnly = true)
+    public List<DocumentSummary> list(String uploadedBy,
+                                      String contentType,
+                                      OffsetDateTime createdFrom,
+                                      OffsetDateTime createdTo,
+                                      PageCursor after,
+                                      int limit) {
+        Long uploadedById = null;
+        if (Objects.nonNull(uploadedBy)) {
+            uploadedById = userRepository.findIdByUsername(uploadedBy).orElse(null);
+            if (Objects.isNull(uploadedById)) {
+                log.debug("Listing documents: unknown uploader '{}' — empty page", uploadedBy);
+                return List.of();
+            }
+        }
+
+        DocumentListFilter filter = new DocumentListFilter(
+                uploadedById,
+                contentType,
+                createdFrom,
+                createdTo,
+                Objects.nonNull(after) ? after.createdAt() : null,
+                Objects.nonNull(after) ? after.id() : null
+        );
+        log.debug("Listing documents: filter={}, limit={}", filter, limit);
+        return documentRepository.findPage(filter, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DocumentSearchRow> search(String query, int offset, int limit) {
+        log.debug("Searching documents: query='{}', offset={}, limit={}", query, offset, limit);
+        return documentRepository.search(query, offset, limit);
+    }
+
     @Transactional
     public Document create(MultipartFile file, String name, String extension) throws Exception {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -42,13 +90,10 @@ public class DocumentService {
         log.debug("Creating document: name='{}', extension='{}', username='{}'", name, extension, username);
         log.trace("Incoming file details: originalName='{}', size={} bytes, contentType={}", file.getOriginalFilename(), file.getSize(), file.getContentType());
 
-        User uploadedBy = null;
-        if (Objects.nonNull(username)) {
-            uploadedBy = userRepository.findByUsername(username).orElse(null);
-            log.trace("Uploader resolved: {}", Objects.nonNull(uploadedBy) ? uploadedBy.getUsername() : "anonymous/null");
-        }
+        User uploadedBy = CurrentUser.reference(userRepository);
+        log.trace("Uploader resolved: {}", Objects.nonNull(uploadedBy) ? uploadedBy.getId() : "anonymous/null");
 
-        UUID publicId = UUID.randomUUID();
+        UUID publicId = UuidV7.next();
         String objectKey = storage.buildObjectKey(publicId.toString(), extension);
         log.trace("Generated identifiers: publicId={}, objectKey='{}'", publicId, objectKey);
 
@@ -77,6 +122,7 @@ public class DocumentService {
             log.debug("Document persisted: id={}, publicId={}", saved.getId(), saved.getPublicId());
             log.trace("Persisted entity snapshot: filename='{}', sizeBytes={}, contentType='{}', storagePath='{}'", saved.getFilename(), saved.getSizeBytes(), saved.getContentType(), saved.getStoragePath());
 
+            events.publishEvent(new DocumentContentStoredEvent(publicId, objectKey, extension));
             return saved;
         } catch (RuntimeException ex) {
             log.error("DB persist failed for publicId={}, attempting storage cleanup for key='{}'. Reason: {}", publicId, objectKey, ex.getMessage(), ex);
@@ -100,6 +146,7 @@ public class DocumentService {
             log.trace("Loaded document entity: id={}, filename='{}', contentType='{}', updatedAt={}", doc.getId(), doc.getFilename(), doc.getContentType(), doc.getUpdatedAt());
 
             boolean updated = false;
+            boolean typeChanged = false;
             if (Objects.nonNull(req.getName())) {
                 log.debug("Updating document name from '{}' → '{}'", doc.getFilename(), req.getName());
                 doc.setFilename(req.getName());
@@ -107,6 +154,7 @@ public class DocumentService {
             }
             if (Objects.nonNull(req.getType())) {
                 log.debug("Updating document contentType from '{}' → '{}'", doc.getContentType(), req.getType());
+                typeChanged = !req.getType().equals(doc.getContentType());
                 doc.setContentType(req.getType());
                 updated = true;
             }
@@ -122,6 +170,10 @@ public class DocumentService {
 
             Document saved = documentRepository.save(doc);
             log.debug("Document metadata updated successfully: id={}, publicId={}, filename='{}', contentType='{}'", saved.getId(), saved.getPublicId(), saved.getFilename(), saved.getContentType());
+            if (typeChanged) {
+                // the type decides whether and how the content is indexed
+                events.publishEvent(new DocumentContentStoredEvent(saved.getPublicId(), saved.getStoragePath(), saved.getContentType()));
+            }
 
             return saved;
         } catch (ReifensbankHttpException e) {
@@ -154,6 +206,7 @@ public class DocumentService {
 
             Document saved = documentRepository.save(doc);
             log.debug("Document content replaced successfully: id={}, publicId={}, sizeBytes={}", saved.getId(), saved.getPublicId(), saved.getSizeBytes());
+            events.publishEvent(new DocumentContentStoredEvent(saved.getPublicId(), objectKey, saved.getContentType()));
             return saved;
         } catch (Exception e) {
             log.error("Failed to persist content replacement for document {}: {}", id, e.getMessage(), e);
@@ -187,6 +240,7 @@ public class DocumentService {
         try {
             documentRepository.delete(doc);
             log.debug("DB delete OK: id={}, publicId={}", doc.getId(), doc.getPublicId());
+            events.publishEvent(new DocumentDeletedEvent(id));
         } catch (Exception e) {
             log.error("DB delete failed for {}. Reason: {}", id, e.getMessage(), e);
             throw new ReifensbankRuntimeException();
@@ -9,19 +9,27 @@ import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.repository.DocumentRepository;
 import com.task.reifensbank.repository.ProtocolRepository;
 import com.task.reifensbank.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.task.reifensbank.repository.projection.ProtocolSearchRow;
+import com.task.reifensbank.security.CurrentUser;
+import com.task.reifensbank.service.code.ProtocolCodeGenerator;
+import com.task.reifensbank.util.UuidV7;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Observed(name = "service")
 @RequiredArgsConstructor
 @Slf4j
 public class ProtocolService {
@@ -29,45 +37,34 @@ public class ProtocolService {
     private final ProtocolRepository protocolRepository;
     private final DocumentRepository documentRepository;
     private final UserRepository userRepository;
+    private final ProtocolCodeGenerator codeGenerator;
 
+    @Transactional(readOnly = true)
     public Protocol getByPublicId(UUID id) {
         return protocolRepository.findByPublicId(id)
                 .orElseThrow(() -> new ReifensbankHttpException(HttpStatus.NOT_FOUND, "Protocol not found"));
     }
 
+    @Transactional(readOnly = true)
+    public List<ProtocolSearchRow> search(String query, int offset, int limit) {
+        log.debug("Searching protocols: query='{}', offset={}, limit={}", query, offset, limit);
+        return protocolRepository.search(query, offset, limit);
+    }
+
     @Transactional
     public Protocol create(com.task.reifensbank.model.ProtocolCreate req) {
         if (req.getDocumentIds() == null || req.getDocumentIds().isEmpty()) {
             throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "At least one document must be provided");
         }
 
-        Set<Document> docs = new LinkedHashSet<>();
-        Set<UUID> missing = new LinkedHashSet<>();
-
-        for (UUID docId : req.getDocumentIds()) {
-            documentRepository.findByPublicId(docId).ifPresentOrElse(
-                    docs::add,
-                    () -> missing.add(docId)
-            );
-        }
-
-        if (!missing.isEmpty()) {
-            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Unknown document IDs: " + missing);
-        }
+        Set<Document> docs = resolveDocuments(req.getDocumentIds());
 
-        String username = SecurityContextHolder.getContext().getAuthentication() != null
-                ? SecurityContextHolder.getContext().getAuthentication().getName()
-                : null;
-
-        User creator = null;
-        if (username != null) {
-            creator = userRepository.findByUsername(username).orElse(null);
-        }
+        User creator = CurrentUser.reference(userRepository);
 
         try {
             Protocol p = new Protocol();
-            p.setPublicId(UUID.randomUUID());
-            p.setCode(generateCode());
+            p.setPublicId(UuidV7.next());
+            p.setCode(codeGenerator.next());
             p.setStatus(req.getState() != null
                     ? ProtocolStatusEnum.valueOf(req.getState().name())
                     : ProtocolStatusEnum.NEW);
@@ -94,28 +91,9 @@ public class ProtocolService {
             throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "At least one document must be provided");
         }
 
-        Set<Document> docs = new LinkedHashSet<>();
-        Set<UUID> missing = new LinkedHashSet<>();
+        Set<Document> docs = resolveDocuments(req.getDocumentIds());
 
-        for (UUID docId : req.getDocumentIds()) {
-            documentRepository.findByPublicId(docId).ifPresentOrElse(
-                    docs::add,
-                    () -> missing.add(docId)
-            );
-        }
-
-        if (!missing.isEmpty()) {
-            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Unknown document IDs: " + missing);
-        }
-
-        String username = SecurityContextHolder.getContext().getAuthentication() != null
-                ? SecurityContextHolder.getContext().getAuthentication().getName()
-                : null;
-
-        User updater = null;
-        if (username != null) {
-            updater = userRepository.findByUsername(username).orElse(null);
-        }
+        User updater = CurrentUser.reference(userRepository);
 
         try {
             p.setStatus(ProtocolStatusEnum.valueOf(req.getState().name()));
@@ -130,18 +108,37 @@ public class ProtocolService {
         }
     }
 
+    /**
+     * All documents in one query, in request order; unknown ids are a 400.
+     */
+    private Set<Document> resolveDocuments(List<UUID> ids) {
+        Map<UUID, Document> found = new HashMap<>();
+        for (Document d : documentRepository.findAllByPublicIdIn(new LinkedHashSet<>(ids))) {
+            found.put(d.getPublicId(), d);
+        }
+
+        Set<Document> docs = new LinkedHashSet<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            Document d = found.get(id);
+            if (d != null) {
+                docs.add(d);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Unknown document IDs: " + missing);
+        }
+        return docs;
+    }
+
     @Transactional
     public Protocol updateState(UUID id, com.task.reifensbank.model.ProtocolStateUpdate req) {
         Protocol p = getByPublicId(id);
 
-        String username = SecurityContextHolder.getContext().getAuthentication() != null
-                ? SecurityContextHolder.getContext().getAuthentication().getName()
-                : null;
-
-        User updater = null;
-        if (username != null) {
-            updater = userRepository.findByUsername(username).orElse(null);
-        }
+        User updater = CurrentUser.reference(userRepository);
 
         try {
             p.setStatus(ProtocolStatusEnum.valueOf(req.getState().name()));
@@ -153,8 +150,4 @@ public class ProtocolService {
             throw new ReifensbankRuntimeException();
         }
     }
-
-    private String generateCode() {
-        return "PR-" + UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
-    }
 }
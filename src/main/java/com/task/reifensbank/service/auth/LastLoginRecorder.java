@@ -0,0 +1,122 @@
+package com.task.reifensbank.service.auth;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for {@code "user".last_login}.
+ * <p>
+ * Logins only put {@code username -> latest login} into a map, so repeated logins of one user coalesce into
+ * one entry. Every {@code app.auth.last-login.flush-interval} the buffer is drained into a single
+ * {@code UPDATE ... FROM unnest(...)}; a failed flush puts its entries back for the next attempt, and the
+ * buffer is flushed once more on shutdown. A crash loses at most one interval of login times.
+ */
+@Component
+@Slf4j
+public class LastLoginRecorder implements MeterBinder {
+
+    static final String UPDATE_SQL = """
+            UPDATE "user" u
+            SET last_login = GREATEST(u.last_login, to_timestamp(v.login_ms / 1000.0))
+            FROM unnest(?::text[], ?::bigint[]) AS v(username, login_ms)
+            WHERE u.username = v.username
+            """;
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public LastLoginRecorder(JdbcTemplate jdbc, PlatformTransactionManager txManager) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    public void record(String username, Instant at) {
+        recorded.incrementAndGet();
+        pending.merge(username, at.toEpochMilli(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.last-login.flush-interval:PT5S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> names = new ArrayList<>(pending.size());
+        List<Long> times = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Long> e : pending.entrySet()) {
+            // a newer login arriving meanwhile keeps its entry for the next flush
+            if (pending.remove(e.getKey(), e.getValue())) {
+                names.add(e.getKey());
+                times.add(e.getValue());
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer updated = tx.execute(status -> jdbc.update(UPDATE_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("text", names.toArray()));
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", times.toArray()));
+            }));
+            flushes.incrementAndGet();
+            written.addAndGet(names.size());
+            log.debug("Flushed last_login of {} user(s), {} row(s) updated", names.size(), updated);
+        } catch (RuntimeException ex) {
+            failures.incrementAndGet();
+            for (int i = 0; i < names.size(); i++) {
+                pending.merge(names.get(i), times.get(i), Math::max);
+            }
+            log.warn("Flushing last_login of {} user(s) failed, will retry: {}", names.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Shutting down with {} unsaved last_login value(s)", pending.size());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.last_login.pending", pending, Map::size)
+                .description("Users whose last login is buffered and not yet written")
+                .register(registry);
+        FunctionCounter.builder("auth.last_login.recorded", recorded, AtomicLong::get)
+                .description("Logins recorded")
+                .register(registry);
+        FunctionCounter.builder("auth.last_login.written", written, AtomicLong::get)
+                .description("last_login values written (after coalescing)")
+                .register(registry);
+        FunctionCounter.builder("auth.last_login.flushes", flushes, AtomicLong::get)
+                .tag("result", "success")
+                .register(registry);
+        FunctionCounter.builder("auth.last_login.flushes", failures, AtomicLong::get)
+                .tag("result", "failure")
+                .register(registry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.task.reifensbank.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login counters, kept in memory on each node: every attempt per username, and failed attempts per
+ * client address (the forwarded one behind a proxy), so a shared egress address is not capped by its successful
+ * logins. Checked before any password is hashed, so a flood of guesses costs a map lookup rather than a BCrypt round.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, AtomicInteger> attempts;
+    private final int maxPerUser;
+    private final int maxPerClient;
+
+    public LoginThrottle(@Value("${app.auth.throttle.window:PT5M}") Duration window,
+                         @Value("${app.auth.throttle.max-per-user:10}") int maxPerUser,
+                         @Value("${app.auth.throttle.max-per-client:50}") int maxPerClient) {
+        this.attempts = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+        this.maxPerUser = maxPerUser;
+        this.maxPerClient = maxPerClient;
+    }
+
+    /**
+     * Counts one attempt for the user; throws 429 when the user's attempts or the client's failures exceed their
+     * limit within the window.
+     */
+    public void acquire(String username, String clientAddress) {
+        boolean userOver = increment("u:" + username) > maxPerUser;
+        boolean clientOver = clientAddress != null && count("c:" + clientAddress) >= maxPerClient;
+        if (userOver || clientOver) {
+            throw new ReifensbankHttpException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts");
+        }
+    }
+
+    /**
+     * Wrong credentials: counts one failure for the client.
+     */
+    public void failed(String clientAddress) {
+        if (clientAddress != null) {
+            increment("c:" + clientAddress);
+        }
+    }
+
+    /**
+     * Successful login: the user's counter starts over (the client's failures keep counting).
+     */
+    public void reset(String username) {
+        attempts.invalidate("u:" + username);
+    }
+
+    private int count(String key) {
+        AtomicInteger counter = attempts.getIfPresent(key);
+        return counter == null ? 0 : counter.get();
+    }
+
+    private int increment(String key) {
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+}
@@ -0,0 +1,131 @@
+package com.task.reifensbank.service.auth;
+
+import com.task.reifensbank.entity.RefreshToken;
+import com.task.reifensbank.entity.User;
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import com.task.reifensbank.repository.RefreshTokenRepository;
+import com.task.reifensbank.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Rotating refresh tokens (see {@code 10_refresh_token.sql}). The raw token is 256 random bits handed to the
+ * client once; only its SHA-256 is stored. Tokens of one login form a family: each refresh revokes the presented
+ * token and issues its successor, and presenting an already revoked token revokes the whole family.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository tokens;
+    private final UserRepository users;
+    private final Duration ttl;
+
+    public RefreshTokenService(RefreshTokenRepository tokens,
+                               UserRepository users,
+                               @Value("${app.auth.refresh.ttl:P14D}") Duration ttl) {
+        this.tokens = tokens;
+        this.users = users;
+        this.ttl = ttl;
+    }
+
+    public record Issued(String username, String token, long expiresInSeconds) {
+    }
+
+    @Transactional
+    public Issued issue(String username) {
+        Long userId = users.findIdByUsername(username)
+                .orElseThrow(() -> new ReifensbankHttpException(HttpStatus.UNAUTHORIZED, "Unknown user"));
+        return create(users.getReferenceById(userId), username, UUID.randomUUID());
+    }
+
+    /**
+     * Consumes {@code rawToken} and returns its successor. {@code accountCheck} gets the username before the successor
+     * is written; when it throws, the presented token stays consumed and no new token exists.
+     */
+    @Transactional(noRollbackFor = ReifensbankHttpException.class)
+    public Issued rotate(String rawToken, Consumer<String> accountCheck) {
+        RefreshToken current = tokens.findByTokenHash(hash(rawToken)).orElseThrow(RefreshTokenService::invalid);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        if (Objects.nonNull(current.getRevokedAt())) {
+            int revoked = tokens.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected: family={}, revoked {} token(s)", current.getFamilyId(), revoked);
+            throw invalid();
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw invalid();
+        }
+
+        current.setRevokedAt(now);
+        User user = current.getUser();
+        accountCheck.accept(user.getUsername());
+        return create(user, user.getUsername(), current.getFamilyId());
+    }
+
+    /**
+     * Revokes the family of {@code rawToken}; unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        tokens.findByTokenHash(hash(rawToken))
+                .ifPresent(t -> tokens.revokeFamily(t.getFamilyId(), OffsetDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh.cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = tokens.deleteExpired(OffsetDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired refresh token(s)", deleted);
+        }
+    }
+
+    private Issued create(User user, String username, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(raw));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plus(ttl));
+        tokens.save(token);
+
+        return new Issued(username, raw, ttl.toSeconds());
+    }
+
+    private static ReifensbankHttpException invalid() {
+        return new ReifensbankHttpException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.task.reifensbank.service.code;
+
+/**
+ * Produces the human-facing {@code protocol.code}. Implementations must never hand out the same code twice,
+ * so callers can rely on the unique constraint without retrying.
+ */
+public interface ProtocolCodeGenerator {
+    String next();
+}
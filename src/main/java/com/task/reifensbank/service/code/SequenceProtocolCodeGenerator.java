@@ -0,0 +1,83 @@
+package com.task.reifensbank.service.code;
+
+import com.task.reifensbank.repository.ProtocolRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Protocol codes backed by {@code protocol_code_seq} with block allocation: every {@code nextval()} reserves
+ * {@code INCREMENT BY} numbers for this node, which are then handed out from memory without locking.
+ * <p>
+ * Numbers are rendered as {@code PR-} + 7 Crockford base32 characters (no I, L, O, U), e.g. {@code PR-00000ZK}.
+ * Seven characters cover 34 billion codes; legacy random codes have 8 hex characters, so the formats never meet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceProtocolCodeGenerator implements ProtocolCodeGenerator {
+
+    static final String PREFIX = "PR-";
+    static final int MIN_WIDTH = 7;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final ProtocolRepository protocolRepository;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private volatile long blockSize;
+
+    @Override
+    public String next() {
+        return encode(nextValue());
+    }
+
+    long nextValue() {
+        Block block = current.get();
+        if (block != null) {
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+        }
+
+        // Block exhausted: reserve a fresh one. Threads racing here each get their own range from the sequence,
+        // the loser of the CAS just keeps its first number and leaves the rest as a gap.
+        long start = protocolRepository.nextCodeBlock();
+        Block fresh = new Block(new AtomicLong(start + 1), start + blockSize());
+        current.compareAndSet(block, fresh);
+        log.debug("Reserved protocol code block [{}, {})", start, fresh.end);
+        return start;
+    }
+
+    private long blockSize() {
+        long size = blockSize;
+        if (size == 0) {
+            size = protocolRepository.codeBlockSize();
+            blockSize = size;
+        }
+        return size;
+    }
+
+    /**
+     * Code of a {@code protocol_code_seq} value; also used by tools that reserve ranges of the sequence themselves.
+     */
+    public static String encode(long value) {
+        char[] buf = new char[13];
+        int pos = buf.length;
+        long v = value;
+        do {
+            buf[--pos] = ALPHABET[(int) (v & 31)];
+            v >>>= 5;
+        } while (v != 0);
+        while (buf.length - pos < MIN_WIDTH) {
+            buf[--pos] = '0';
+        }
+        return PREFIX + new String(buf, pos, buf.length - pos);
+    }
+
+    private record Block(AtomicLong next, long end) {
+    }
+}
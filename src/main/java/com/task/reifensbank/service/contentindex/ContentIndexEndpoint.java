@@ -0,0 +1,42 @@
+package com.task.reifensbank.service.contentindex;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/contentindex}:
+ * <ul>
+ *     <li>{@code GET} – indexed documents and whether a rebuild is running</li>
+ *     <li>{@code POST} – rebuild the index from storage in the background (repairs dropped updates)</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "contentindex")
+@ConditionalOnProperty(prefix = "app.content-index", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ContentIndexEndpoint {
+
+    private final ContentIndexService index;
+    private final ContentIndexer indexer;
+
+    public record Status(int documents, boolean rebuilding) {
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(index.size(), indexer.isRebuilding());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Status> rebuild() {
+        if (!indexer.rebuildInBackground()) {
+            return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        return new WebEndpointResponse<>(status(), 202);
+    }
+}
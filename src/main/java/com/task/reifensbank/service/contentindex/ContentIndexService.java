@@ -0,0 +1,162 @@
+package com.task.reifensbank.service.contentindex;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded Lucene index of extracted document text, stored on local disk next to the application.
+ * One Lucene document per {@code Document}, keyed by its public id. Writes are visible to searches
+ * immediately (near-real-time reader); durable commits happen on a fixed interval and on shutdown.
+ * The index is derived data and can be rebuilt from storage at any time, see {@link ContentIndexer#rebuild()}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.content-index", name = "enabled", havingValue = "true")
+@Slf4j
+public class ContentIndexService {
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_CONTENT = "content";
+
+    private final Path indexPath;
+    private final long commitIntervalMs;
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService committer;
+
+    public ContentIndexService(
+            @Value("${app.content-index.path:${java.io.tmpdir}/reifensbank-content-index}") String indexPath,
+            @Value("${app.content-index.commit-interval-ms:5000}") long commitIntervalMs
+    ) {
+        this.indexPath = Path.of(indexPath);
+        this.commitIntervalMs = commitIntervalMs;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(indexPath);
+        Analyzer analyzer = new StandardAnalyzer();
+        this.directory = FSDirectory.open(indexPath);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.committer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "content-index-commit");
+            t.setDaemon(true);
+            return t;
+        });
+        committer.scheduleWithFixedDelay(this::commitQuietly, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Content index opened at '{}' ({} documents)", indexPath, writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        committer.shutdownNow();
+        searcherManager.close();
+        writer.close(); // commits pending changes
+        directory.close();
+        log.info("Content index closed at '{}'", indexPath);
+    }
+
+    public void index(UUID publicId, String text) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, publicId.toString(), Field.Store.YES));
+        doc.add(new TextField(FIELD_CONTENT, text, Field.Store.NO));
+        writer.updateDocument(idTerm(publicId), doc);
+        searcherManager.maybeRefresh();
+    }
+
+    public void delete(UUID publicId) throws IOException {
+        writer.deleteDocuments(idTerm(publicId));
+        searcherManager.maybeRefresh();
+    }
+
+    public void deleteAll() throws IOException {
+        writer.deleteAll();
+        searcherManager.maybeRefresh();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Best-scoring documents for a user query. {@link SimpleQueryParser} never throws on user input;
+     * terms are ANDed, {@code "quoted phrases"}, {@code -exclusion} and {@code prefix*} are supported.
+     */
+    public List<UUID> search(String query, int limit) throws IOException {
+        SimpleQueryParser parser = new SimpleQueryParser(writer.getAnalyzer(), FIELD_CONTENT);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query q = parser.parse(query);
+        if (Objects.isNull(q)) {
+            return List.of();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(q, limit);
+            StoredFields stored = searcher.storedFields();
+            List<UUID> ids = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc sd : top.scoreDocs) {
+                ids.add(UUID.fromString(stored.document(sd.doc).get(FIELD_ID)));
+            }
+            return ids;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    void commitQuietly() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+                log.trace("Content index committed");
+            }
+        } catch (Exception e) {
+            log.error("Content index commit failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Term idTerm(UUID publicId) {
+        return new Term(FIELD_ID, publicId.toString());
+    }
+}
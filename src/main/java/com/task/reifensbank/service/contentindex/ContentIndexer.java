@@ -0,0 +1,242 @@
+package com.task.reifensbank.service.contentindex;
+
+import com.task.reifensbank.repository.DocumentRepository;
+import com.task.reifensbank.repository.projection.DocumentContentRef;
+import com.task.reifensbank.service.event.DocumentContentStoredEvent;
+import com.task.reifensbank.service.event.DocumentDeletedEvent;
+import com.task.reifensbank.service.storage.StorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link ContentIndexService} in sync with the {@code document} table. Index updates are
+ * queued after the originating transaction commits and run on the bounded {@code contentIndexExecutor},
+ * so uploads never wait for text extraction. Updates of one document run in submission order, one at a time,
+ * so a delete can never be overtaken by an earlier store. Dropped updates (queue full, storage hiccup) are
+ * repaired by {@link #rebuild()}, which operators start through {@code POST /actuator/contentindex}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.content-index", name = "enabled", havingValue = "true")
+@Slf4j
+public class ContentIndexer {
+
+    private final ContentIndexService index;
+    private final TextExtractor extractor;
+    private final StorageService storage;
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean rebuildOnStartup;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    /** Pending updates per document; present while a task of that document is queued or running. */
+    private final Map<UUID, Deque<Runnable>> pending = new ConcurrentHashMap<>();
+
+    public ContentIndexer(ContentIndexService index,
+                          TextExtractor extractor,
+                          StorageService storage,
+                          DocumentRepository documentRepository,
+                          PlatformTransactionManager txManager,
+                          @Qualifier("contentIndexExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${app.content-index.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.index = index;
+        this.extractor = extractor;
+        this.storage = storage;
+        this.documentRepository = documentRepository;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.executor = executor;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onContentStored(DocumentContentStoredEvent event) {
+        submit(event.publicId(), () -> indexDocument(event.publicId(), event.storagePath(), event.contentType()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDeleted(DocumentDeletedEvent event) {
+        submit(event.publicId(), () -> {
+            try {
+                index.delete(event.publicId());
+            } catch (Exception e) {
+                log.warn("Content index delete failed for {}: {}", event.publicId(), e.getMessage());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup && index.isEmpty()) {
+            rebuildInBackground();
+        }
+    }
+
+    /**
+     * Starts {@link #rebuild()} on a virtual thread.
+     *
+     * @return {@code false} when a rebuild is already running
+     */
+    public boolean rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("content-index-rebuild").start(() -> {
+            try {
+                doRebuild();
+            } catch (Exception e) {
+                log.error("Content index rebuild failed: {}", e.getMessage(), e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /**
+     * Drops the index and re-extracts every document from storage. Documents are streamed with a
+     * server-side cursor and at most {@code 2 x parallelism} extractions are in flight, so memory stays
+     * flat regardless of table size.
+     *
+     * @return number of documents scheduled for indexing
+     */
+    public int rebuild() throws Exception {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Content index rebuild already running");
+        }
+        try {
+            return doRebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private int doRebuild() throws Exception {
+        log.info("Content index rebuild started");
+        index.deleteAll();
+
+        int inFlight = executor.getMaxPoolSize() * 2;
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicInteger scheduled = new AtomicInteger();
+
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<DocumentContentRef> refs = documentRepository.streamContentRefs()) {
+                refs.forEach(ref -> {
+                    permits.acquireUninterruptibly();
+                    Runnable task = () -> {
+                        try {
+                            indexDocument(ref.publicId(), ref.storagePath(), ref.contentType());
+                        } finally {
+                            permits.release();
+                        }
+                    };
+                    try {
+                        executor.execute(task);
+                    } catch (TaskRejectedException e) {
+                        task.run(); // queue is full of live updates – back-pressure onto the rebuild thread
+                    }
+                    scheduled.incrementAndGet();
+                });
+            }
+        });
+
+        permits.acquireUninterruptibly(inFlight); // wait for the tail
+        permits.release(inFlight);
+        log.info("Content index rebuild finished: {} documents scanned, {} indexed", scheduled.get(), index.size());
+        return scheduled.get();
+    }
+
+    void indexDocument(UUID publicId, String storagePath, String contentType) {
+        try {
+            if (!extractor.supports(contentType)) {
+                // content may have been replaced by an unsupported format – never keep stale text
+                index.delete(publicId);
+                return;
+            }
+            Optional<String> text;
+            try (InputStream in = storage.get(storagePath)) {
+                text = extractor.extract(contentType, in);
+            }
+            if (text.isPresent()) {
+                index.index(publicId, text.get());
+                log.debug("Content indexed: publicId={}, chars={}", publicId, text.get().length());
+            } else {
+                index.delete(publicId);
+            }
+        } catch (Exception e) {
+            log.warn("Content indexing failed for {} (key='{}'): {}", publicId, storagePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Queues {@code task} behind the pending updates of the same document; only the first one of a document
+     * occupies an executor slot, and it drains the others in order.
+     */
+    private void submit(UUID publicId, Runnable task) {
+        boolean[] first = {false};
+        pending.compute(publicId, (id, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                first[0] = true;
+            }
+            queue.add(task);
+            return queue;
+        });
+        if (!first[0]) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(publicId));
+        } catch (TaskRejectedException e) {
+            Deque<Runnable> dropped = pending.remove(publicId);
+            log.warn("Content index queue full – {} update(s) for {} dropped; POST /actuator/contentindex to rebuild",
+                    dropped == null ? 0 : dropped.size(), publicId);
+        }
+    }
+
+    private void drain(UUID publicId) {
+        while (true) {
+            Runnable[] next = {null};
+            // the emptied queue stays mapped while its last task runs, so a new update queues behind it
+            pending.computeIfPresent(publicId, (id, queue) -> {
+                next[0] = queue.poll();
+                return next[0] == null ? null : queue;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            try {
+                next[0].run();
+            } catch (RuntimeException e) {
+                log.warn("Content index update for {} failed: {}", publicId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.task.reifensbank.service.contentindex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Extracts plain text from stored document binaries. The document {@code contentType} column holds the
+ * file extension, so the format is chosen by extension. Unsupported formats yield {@link Optional#empty()}.
+ */
+@Component
+@Slf4j
+public class TextExtractor {
+
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("txt", "csv", "md", "json", "xml", "html", "htm", "log");
+
+    private final int maxChars;
+
+    public TextExtractor(@Value("${app.content-index.max-chars:1000000}") int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    public boolean supports(String extension) {
+        String ext = normalize(extension);
+        return "pdf".equals(ext) || TEXT_EXTENSIONS.contains(ext);
+    }
+
+    public Optional<String> extract(String extension, InputStream in) throws IOException {
+        String ext = normalize(extension);
+        if ("pdf".equals(ext)) {
+            return Optional.of(extractPdf(in));
+        }
+        if (TEXT_EXTENSIONS.contains(ext)) {
+            return Optional.of(extractText(in));
+        }
+        log.trace("No text extractor for extension '{}'", extension);
+        return Optional.empty();
+    }
+
+    /**
+     * The PDF is spooled to a temp file and parsed from there (PDFBox needs random access), so a large upload
+     * costs disk, not heap. Stripping stops as soon as {@code maxChars} are written instead of extracting every page.
+     */
+    private String extractPdf(InputStream in) throws IOException {
+        Path file = Files.createTempFile("content-index-", ".pdf");
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            try (PDDocument pdf = Loader.loadPDF(new RandomAccessReadBufferedFile(file), IOUtils.createTempFileOnlyStreamCache())) {
+                BoundedWriter out = new BoundedWriter(maxChars);
+                try {
+                    new PDFTextStripper().writeText(pdf, out);
+                } catch (BoundedWriter.Full full) {
+                    log.trace("PDF text truncated at {} chars", maxChars);
+                }
+                return out.toString();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private String extractText(InputStream in) throws IOException {
+        // bounded read: never buffer more than maxChars of a large text upload
+        StringBuilder sb = new StringBuilder(Math.min(maxChars, 64 * 1024));
+        char[] buf = new char[8192];
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            int n;
+            while (sb.length() < maxChars && (n = reader.read(buf, 0, Math.min(buf.length, maxChars - sb.length()))) != -1) {
+                sb.append(buf, 0, n);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Keeps the first {@code limit} chars and then aborts the writer's producer.
+     */
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+
+        BoundedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws Full {
+            int room = limit - text.length();
+            text.append(cbuf, off, Math.min(len, room));
+            if (len >= room) {
+                throw new Full();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+
+        static final class Full extends IOException {
+            Full() {
+                super("character limit reached", null);
+            }
+        }
+    }
+
+    private static String normalize(String extension) {
+        return Objects.isNull(extension) ? "" : extension.trim().toLowerCase(Locale.ROOT);
+    }
+}
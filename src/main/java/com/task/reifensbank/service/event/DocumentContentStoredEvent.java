@@ -0,0 +1,10 @@
+package com.task.reifensbank.service.event;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link com.task.reifensbank.service.DocumentService} when a document binary was
+ * written to storage (create or content replacement). Listeners should react after commit.
+ */
+public record DocumentContentStoredEvent(UUID publicId, String storagePath, String contentType) {
+}
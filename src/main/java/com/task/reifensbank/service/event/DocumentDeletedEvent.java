@@ -0,0 +1,10 @@
+package com.task.reifensbank.service.event;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link com.task.reifensbank.service.DocumentService} when a document was deleted.
+ * Listeners should react after commit.
+ */
+public record DocumentDeletedEvent(UUID publicId) {
+}
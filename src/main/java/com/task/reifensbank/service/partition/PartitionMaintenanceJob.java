@@ -0,0 +1,142 @@
+package com.task.reifensbank.service.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code document} and {@code protocol} ahead of time and, when a retention
+ * is configured, detaches expired months. Detached tables stay in the database until dropped by an operator;
+ * their rows disappear from the API, and their {@code *_key} rows (with the {@code protocol_document} rows that
+ * reference them) are deleted in batches, so the key tables do not grow with the history.
+ * <p>
+ * {@code DETACH PARTITION ... CONCURRENTLY} cannot run in a transaction block, so the job works on a plain
+ * auto-commit connection instead of a Spring transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.partitions", name = "enabled", havingValue = "true")
+@Slf4j
+public class PartitionMaintenanceJob {
+
+    static final List<String> TABLES = List.of("document", "protocol");
+    static final int KEY_DELETE_BATCH = 10_000;
+
+    private final DataSource dataSource;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public PartitionMaintenanceJob(DataSource dataSource,
+                                   @Value("${app.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${app.partitions.retention-months:0}") int retentionMonths) {
+        this.dataSource = dataSource;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        run();
+    }
+
+    @Scheduled(cron = "${app.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void run() {
+        for (String table : TABLES) {
+            try {
+                maintain(table);
+            } catch (SQLException e) {
+                log.error("Partition maintenance failed for '{}': {}", table, e.getMessage(), e);
+            }
+        }
+    }
+
+    void maintain(String table) throws SQLException {
+        LocalDate thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        try (Connection con = dataSource.getConnection()) {
+            con.setAutoCommit(true);
+
+            try (PreparedStatement ps = con.prepareStatement("select create_monthly_partitions(?, ?, ?)")) {
+                ps.setString(1, table);
+                ps.setObject(2, thisMonth);
+                ps.setObject(3, thisMonth.plusMonths(monthsAhead));
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    int created = rs.getInt(1);
+                    if (created > 0) {
+                        log.info("Created {} partition(s) of '{}' up to {}", created, table, thisMonth.plusMonths(monthsAhead));
+                    }
+                }
+            }
+
+            if (retentionMonths <= 0) {
+                return;
+            }
+
+            List<String> expired = new ArrayList<>();
+            try (PreparedStatement ps = con.prepareStatement("select expired_monthly_partitions(?, ?)")) {
+                ps.setString(1, table);
+                ps.setInt(2, retentionMonths);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        expired.add(rs.getString(1));
+                    }
+                }
+            }
+
+            for (String partition : expired) {
+                try (Statement st = con.createStatement()) {
+                    st.execute("ALTER TABLE \"%s\" DETACH PARTITION \"%s\" CONCURRENTLY".formatted(table, partition));
+                    log.info("Detached expired partition '{}' from '{}'", partition, table);
+                } catch (SQLException e) {
+                    // another node may have detached it first
+                    log.warn("Could not detach partition '{}' from '{}': {}", partition, table, e.getMessage());
+                }
+            }
+
+            deleteDetachedKeys(con, table, thisMonth.minusMonths(retentionMonths));
+        }
+    }
+
+    /**
+     * Deletes the key rows before {@code cutoff} whose row is no longer in the partitioned table. Checking the
+     * table instead of trusting the detach keeps keys of a month whose detach failed, and catches up on months a
+     * crashed run detached without cleaning up.
+     */
+    void deleteDetachedKeys(Connection con, String table, LocalDate cutoff) throws SQLException {
+        String sql = """
+                delete from %1$s_key
+                where id in (select k.id
+                             from %1$s_key k
+                             where k.created_at < ?
+                               and not exists (select 1 from "%1$s" t where t.id = k.id and t.created_at = k.created_at)
+                             limit %2$d)
+                """.formatted(table, KEY_DELETE_BATCH);
+        long deleted = 0;
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setObject(1, cutoff.atStartOfDay().atOffset(ZoneOffset.UTC));
+            int batch;
+            do {
+                batch = ps.executeUpdate();
+                deleted += batch;
+            } while (batch == KEY_DELETE_BATCH);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} key row(s) of detached '{}' partitions before {}", deleted, table, cutoff);
+        }
+    }
+}
@@ -71,6 +71,12 @@ public class MinioStorageService implements StorageService {
         }
     }
 
+    @Override
+    public InputStream get(String objectKey) throws Exception {
+        ensureBucketIfNeeded();
+        return client.getObject(GetObjectArgs.builder().bucket(bucket).object(objectKey).build());
+    }
+
     @Override
     public void delete(String objectKey) throws Exception {
         ensureBucketIfNeeded();
@@ -0,0 +1,88 @@
+package com.task.reifensbank.service.storage;
+
+import com.task.reifensbank.profiling.StorageTransferEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+/**
+ * Observes every call of another {@link StorageService} as {@code storage.operations}: a timer tagged
+ * {@code operation} and {@code outcome}, and a span {@code storage <operation>} carrying the object key and,
+ * for uploads, {@code storage.bytes}; plus a JFR {@link StorageTransferEvent} while a recording is running.
+ * {@code get} measures opening the object, not reading the returned stream.
+ */
+public class ObservedStorageService implements StorageService {
+
+    static final String METRIC = "storage.operations";
+
+    private final StorageService delegate;
+    private final ObservationRegistry registry;
+
+    public ObservedStorageService(StorageService delegate, ObservationRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public String put(String objectKey, MultipartFile file) throws Exception {
+        return observed("put", objectKey, file.getSize(), () -> delegate.put(objectKey, file));
+    }
+
+    @Override
+    public InputStream get(String objectKey) throws Exception {
+        return observed("get", objectKey, -1, () -> delegate.get(objectKey));
+    }
+
+    @Override
+    public void delete(String objectKey) throws Exception {
+        observed("delete", objectKey, -1, () -> {
+            delegate.delete(objectKey);
+            return null;
+        });
+    }
+
+    @Override
+    public String buildObjectKey(String publicId, String extension) {
+        return delegate.buildObjectKey(publicId, extension);
+    }
+
+    private <T> T observed(String operation, String objectKey, long bytes, StorageCall<T> call) throws Exception {
+        Observation observation = Observation.createNotStarted(METRIC, registry)
+                .contextualName("storage " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .highCardinalityKeyValue("storage.key", objectKey);
+        if (bytes >= 0) {
+            observation.highCardinalityKeyValue("storage.bytes", Long.toString(bytes));
+        }
+        observation.start();
+        StorageTransferEvent event = new StorageTransferEvent();
+        event.begin();
+        String outcome = "error";
+        try (Observation.Scope ignored = observation.openScope()) {
+            T result = call.run();
+            outcome = "success";
+            return result;
+        } catch (Exception e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.objectKey = objectKey;
+                event.bytes = bytes;
+                event.success = "success".equals(outcome);
+                event.commit();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StorageCall<T> {
+        T run() throws Exception;
+    }
+}
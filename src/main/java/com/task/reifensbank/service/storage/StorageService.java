@@ -2,9 +2,16 @@ package com.task.reifensbank.service.storage;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 public interface StorageService {
     String put(String objectKey, MultipartFile file) throws Exception;
 
+    /**
+     * Opens the stored object for reading. The caller must close the stream.
+     */
+    InputStream get(String objectKey) throws Exception;
+
     void delete(String objectKey) throws Exception;
 
     default String buildObjectKey(String publicId, String extension) {
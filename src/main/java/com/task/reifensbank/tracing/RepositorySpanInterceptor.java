@@ -0,0 +1,79 @@
+package com.task.reifensbank.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * One span per repository call ({@code DocumentRepository.findPage}), tagged with the number of rows the call
+ * returned or, for {@link Modifying} queries, changed ({@code db.rows}).
+ * <p>
+ * Only opens a span inside an existing trace, so scheduled jobs polling the database do not start traces.
+ */
+public class RepositorySpanInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracer;
+    private final String repository;
+
+    public RepositorySpanInterceptor(ObjectProvider<Tracer> tracer, String repository) {
+        this.tracer = tracer;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer t = tracer.getIfAvailable();
+        if (t == null || t.currentSpan() == null) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        Span span = t.nextSpan()
+                .name(repository + "." + method)
+                .tag("db.repository", repository)
+                .tag("db.method", method)
+                .start();
+        try (Tracer.SpanInScope ignored = t.withSpan(span)) {
+            Object result = invocation.proceed();
+            long rows = rows(invocation, result);
+            if (rows >= 0) {
+                span.tag("db.rows", rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    public static long rows(MethodInvocation invocation, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> c) {
+            return c.size();
+        }
+        if (result instanceof Slice<?> s) {
+            return s.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> o) {
+            return o.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number n) {
+            return AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), Modifying.class) ? n.longValue() : -1;
+        }
+        if (result instanceof Boolean || result.getClass().isArray()) {
+            return -1;
+        }
+        return 1;
+    }
+}
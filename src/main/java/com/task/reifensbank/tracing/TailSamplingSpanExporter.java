@@ -0,0 +1,120 @@
+package com.task.reifensbank.tracing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides per trace, once its local root span has ended, whether the trace is exported:
+ * <ul>
+ *     <li>always if the root took at least {@code slowThreshold} or any span of the trace ended with an error</li>
+ *     <li>otherwise with probability {@code ratio}, derived from the trace id (the same decision on every node)</li>
+ * </ul>
+ * Spans of an undecided trace are buffered; spans ending after the decision (async work) follow it.
+ * Traces whose root never arrives are dropped once the buffer entry expires.
+ * <p>
+ * Not thread-safe per trace: meant to sit behind a {@code BatchSpanProcessor}, whose single worker calls
+ * {@link #export}.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+    private final long ratioBound;
+    private final long slowThresholdNanos;
+    private final Cache<String, List<SpanData>> pending;
+    private final Cache<String, Boolean> decided;
+
+    public TailSamplingSpanExporter(SpanExporter delegate, double ratio, Duration slowThreshold,
+                                    Duration decisionWait, long maxPendingTraces) {
+        this.delegate = delegate;
+        this.ratioBound = ratio >= 1.0 ? Long.MAX_VALUE : (long) (Math.max(ratio, 0.0) * Long.MAX_VALUE);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(maxPendingTraces)
+                .expireAfterWrite(decisionWait.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+        this.decided = Caffeine.newBuilder()
+                .maximumSize(maxPendingTraces)
+                .expireAfterWrite(decisionWait.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> keep = new ArrayList<>();
+        for (SpanData span : spans) {
+            String traceId = span.getTraceId();
+            Boolean decision = decided.getIfPresent(traceId);
+            if (decision != null) {
+                if (decision) {
+                    keep.add(span);
+                }
+                continue;
+            }
+            if (!isLocalRoot(span)) {
+                pending.asMap().computeIfAbsent(traceId, id -> new ArrayList<>()).add(span);
+                continue;
+            }
+            List<SpanData> trace = pending.asMap().remove(traceId);
+            if (trace == null) {
+                trace = new ArrayList<>(1);
+            }
+            trace.add(span);
+            boolean export = keep(span, trace);
+            decided.put(traceId, export);
+            if (export) {
+                keep.addAll(trace);
+            }
+        }
+        return keep.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(keep);
+    }
+
+    boolean keep(SpanData root, List<SpanData> trace) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        for (SpanData span : trace) {
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+                return true;
+            }
+        }
+        return sampledByRatio(root.getTraceId());
+    }
+
+    /**
+     * Same arithmetic as OpenTelemetry's {@code TraceIdRatioBased}: the lower 64 bits of the trace id.
+     */
+    private boolean sampledByRatio(String traceId) {
+        if (ratioBound == Long.MAX_VALUE) {
+            return true;
+        }
+        long lower = Long.parseUnsignedLong(traceId.substring(16), 16);
+        return Math.abs(lower == Long.MIN_VALUE ? Long.MAX_VALUE : lower) < ratioBound;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.invalidateAll();
+        return delegate.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package com.task.reifensbank.usecase;
+
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
+import com.task.reifensbank.model.DocumentContentSearchResult;
+import com.task.reifensbank.service.contentindex.ContentIndexService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+@Observed(name = "usecase")
+@RequiredArgsConstructor
+@Slf4j
+public class ContentSearchAppService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final ObjectProvider<ContentIndexService> contentIndex;
+
+    public ResponseEntity<DocumentContentSearchResult> search(String q, Integer limit) {
+        ContentIndexService index = contentIndex.getIfAvailable();
+        if (Objects.isNull(index)) {
+            throw new ReifensbankHttpException(HttpStatus.SERVICE_UNAVAILABLE, "Content search is disabled");
+        }
+        if (Objects.isNull(q) || q.isBlank()) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Query must be provided");
+        }
+        int max = Objects.isNull(limit) ? DEFAULT_LIMIT : limit;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        try {
+            log.debug("Searching document content: q='{}', limit={}", q, max);
+            List<UUID> ids = index.search(q, max);
+            return ResponseEntity.ok(new DocumentContentSearchResult().ids(ids));
+        } catch (Exception e) {
+            log.error("Content search failed for '{}': {}", q, e.getMessage(), e);
+            throw new ReifensbankRuntimeException();
+        }
+    }
+}
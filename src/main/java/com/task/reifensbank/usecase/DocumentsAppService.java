@@ -4,8 +4,15 @@ import com.task.reifensbank.entity.Document;
 import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.mappers.DocumentMappers;
+import com.task.reifensbank.model.DocumentPage;
+import com.task.reifensbank.model.DocumentSearchPage;
 import com.task.reifensbank.model.DocumentsUpdateMetadataRequest;
+import com.task.reifensbank.repository.projection.DocumentSearchRow;
+import com.task.reifensbank.repository.projection.DocumentSummary;
+import com.task.reifensbank.security.CurrentUser;
 import com.task.reifensbank.service.DocumentService;
+import com.task.reifensbank.util.PageCursor;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -14,16 +21,96 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Service
+@Observed(name = "usecase")
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentsAppService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private final DocumentService documentService;
 
+    public ResponseEntity<DocumentPage> list(String uploadedBy,
+                                             String type,
+                                             OffsetDateTime createdFrom,
+                                             OffsetDateTime createdTo,
+                                             Integer limit,
+                                             String cursor) {
+        int pageSize = Objects.isNull(limit) ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (Objects.nonNull(createdFrom) && Objects.nonNull(createdTo) && !createdFrom.isBefore(createdTo)) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "createdFrom must be before createdTo");
+        }
+
+        PageCursor after = null;
+        if (Objects.nonNull(cursor) && !cursor.isBlank()) {
+            try {
+                after = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        try {
+            log.debug("Listing documents: uploadedBy='{}', type='{}', createdFrom={}, createdTo={}, limit={}, cursor={}",
+                    uploadedBy, type, createdFrom, createdTo, pageSize, cursor);
+
+            // one extra row tells us whether another page exists without a count query
+            List<DocumentSummary> rows = documentService.list(uploadedBy, type, createdFrom, createdTo, after, pageSize + 1);
+            boolean hasNext = rows.size() > pageSize;
+            List<DocumentSummary> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+            DocumentPage body = new DocumentPage();
+            body.setItems(pageRows.stream().map(DocumentMappers::toSummaryModel).toList());
+            if (hasNext) {
+                DocumentSummary last = pageRows.get(pageRows.size() - 1);
+                body.setNextCursor(new PageCursor(last.createdAt(), last.id()).encode());
+            }
+
+            log.debug("Listed documents: returned={}, hasNext={}", pageRows.size(), hasNext);
+            return ResponseEntity.ok(body);
+        } catch (ReifensbankHttpException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to list documents. Reason: {}", e.getMessage(), e);
+            throw new ReifensbankRuntimeException();
+        }
+    }
+
+    public ResponseEntity<DocumentSearchPage> search(String q, Integer page, Integer size) {
+        SearchWindow window = SearchWindow.of(q, page, size);
+
+        try {
+            log.debug("Searching documents: window={}", window);
+            List<DocumentSearchRow> rows = documentService.search(window.query(), window.offset(), window.size() + 1);
+            boolean hasNext = rows.size() > window.size();
+
+            DocumentSearchPage body = new DocumentSearchPage();
+            body.setItems((hasNext ? rows.subList(0, window.size()) : rows).stream()
+                    .map(DocumentMappers::toSearchHit)
+                    .toList());
+            body.setPage(window.page());
+            body.setSize(window.size());
+            body.setHasNext(hasNext);
+            return ResponseEntity.ok(body);
+        } catch (ReifensbankHttpException ex) {
+            log.warn("Document search failed for '{}': {}", window.query(), ex.getMessage());
+            throw ex;
+        } catch (Exception e) {
+            log.error("Document search failed for '{}': {}", window.query(), e.getMessage(), e);
+            throw new ReifensbankRuntimeException();
+        }
+    }
+
     public ResponseEntity<com.task.reifensbank.model.Document> create(MultipartFile file,
                                                                       String name,
                                                                       String type) {
@@ -48,7 +135,9 @@ public class DocumentsAppService {
 
             log.trace("Entity after persistence: id={}, publicId={}, filename={}", saved.getId(), saved.getPublicId(), saved.getFilename());
 
-            com.task.reifensbank.model.Document body = DocumentMappers.toModel(saved);
+            // the uploader is the current user, held by the entity as an unloaded reference
+            com.task.reifensbank.model.Document body = DocumentMappers.toModel(saved,
+                    saved.getUploadedBy() != null ? CurrentUser.username() : null);
             URI location = URI.create("/documents/" + saved.getPublicId());
 
             log.debug("Document created: id={}, publicId={}, location={}",
@@ -4,18 +4,23 @@ import com.task.reifensbank.entity.Protocol;
 import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.mappers.ProtocolMappers;
+import com.task.reifensbank.model.ProtocolSearchPage;
 import com.task.reifensbank.model.ProtocolStateUpdate;
 import com.task.reifensbank.model.ProtocolUpdate;
+import com.task.reifensbank.repository.projection.ProtocolSearchRow;
 import com.task.reifensbank.service.ProtocolService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @Service
+@Observed(name = "usecase")
 @RequiredArgsConstructor
 @Slf4j
 public class ProtocolsAppService {
@@ -53,6 +58,31 @@ public class ProtocolsAppService {
         }
     }
 
+    public ResponseEntity<ProtocolSearchPage> search(String q, Integer page, Integer size) {
+        SearchWindow window = SearchWindow.of(q, page, size);
+
+        try {
+            log.debug("Searching protocols: window={}", window);
+            List<ProtocolSearchRow> rows = protocolService.search(window.query(), window.offset(), window.size() + 1);
+            boolean hasNext = rows.size() > window.size();
+
+            ProtocolSearchPage body = new ProtocolSearchPage();
+            body.setItems((hasNext ? rows.subList(0, window.size()) : rows).stream()
+                    .map(ProtocolMappers::toSearchHit)
+                    .toList());
+            body.setPage(window.page());
+            body.setSize(window.size());
+            body.setHasNext(hasNext);
+            return ResponseEntity.ok(body);
+        } catch (ReifensbankHttpException ex) {
+            log.warn("Protocol search failed for '{}': {}", window.query(), ex.getMessage());
+            throw ex;
+        } catch (Exception e) {
+            log.error("Protocol search failed for '{}': {}", window.query(), e.getMessage(), e);
+            throw new ReifensbankRuntimeException();
+        }
+    }
+
     public ResponseEntity<com.task.reifensbank.model.Protocol> updateAll(UUID id, ProtocolUpdate req) {
         try {
             log.debug("Updating protocol (full): id={}, state={}, docs={}", id, req.getState(), req.getDocumentIds());
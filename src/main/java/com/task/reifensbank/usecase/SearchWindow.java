@@ -0,0 +1,40 @@
+package com.task.reifensbank.usecase;
+
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Objects;
+
+/**
+ * Validated paging window for ranked search endpoints. Ranked results have no stable seek key,
+ * so paging is offset based and capped at {@link #MAX_WINDOW} rows to keep deep pages cheap.
+ */
+record SearchWindow(String query, int page, int size) {
+
+    static final int MIN_QUERY_LENGTH = 3;
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+    static final int MAX_WINDOW = 1000;
+
+    static SearchWindow of(String q, Integer page, Integer size) {
+        String query = Objects.isNull(q) ? "" : q.trim();
+        if (query.length() < MIN_QUERY_LENGTH || query.length() > MAX_QUERY_LENGTH) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST,
+                    "Query must be between " + MIN_QUERY_LENGTH + " and " + MAX_QUERY_LENGTH + " characters");
+        }
+        int p = Objects.isNull(page) ? 0 : page;
+        int s = Objects.isNull(size) ? DEFAULT_SIZE : size;
+        if (p < 0 || s < 1 || s > MAX_SIZE) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Page must be >= 0 and size between 1 and " + MAX_SIZE);
+        }
+        if ((long) (p + 1) * s > MAX_WINDOW) {
+            throw new ReifensbankHttpException(HttpStatus.BAD_REQUEST, "Only the first " + MAX_WINDOW + " results can be paged; refine the query");
+        }
+        return new SearchWindow(query, p, s);
+    }
+
+    int offset() {
+        return page * size;
+    }
+}
@@ -0,0 +1,22 @@
+package com.task.reifensbank.util;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class LikePatterns {
+
+    /**
+     * Builds a {@code %term%} pattern for SQL {@code LIKE/ILIKE}, escaping the wildcard characters
+     * with PostgreSQL's default escape character (backslash) so user input is matched literally.
+     */
+    public String contains(String term) {
+        StringBuilder sb = new StringBuilder(term.length() + 2).append('%');
+        for (char c : term.toCharArray()) {
+            if (c == '\\' || c == '%' || c == '_') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('%').toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.task.reifensbank.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562): 48-bit Unix milliseconds, a 12-bit counter and 62 random bits.
+ * <p>
+ * Values are strictly increasing within the JVM, also when called concurrently: the timestamp and counter
+ * are advanced together with a single CAS. If the counter overflows inside one millisecond, or the clock
+ * steps back, the sequence borrows from the next millisecond instead of going backwards.
+ */
+@UtilityClass
+public class UuidV7 {
+
+    private final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Last issued {@code (unixMillis << 12) | counter}.
+     */
+    private final AtomicLong LAST = new AtomicLong();
+
+    public UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    UUID next(long unixMillis) {
+        long candidate = unixMillis << 12;
+        long prev;
+        long stamp;
+        do {
+            prev = LAST.get();
+            stamp = Math.max(candidate, prev + 1);
+        } while (!LAST.compareAndSet(prev, stamp));
+
+        long msb = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,44 @@
+package com.task.reifensbank.budget;
+
+import org.hibernate.stat.Statistics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures one call of a use case: JDBC statements Hibernate prepared ({@link Statistics#getPrepareStatementCount()};
+ * {@code JdbcTemplate} and trigger statements are invisible to it) and bytes allocated by the calling thread ({@code com.sun.management.ThreadMXBean}).
+ * <p>
+ * The call is run {@value #WARMUP} times first (class loading, JIT, Hibernate's query plan cache), then
+ * {@value #RUNS} times; the minimum of each counter is reported, so an occasional pooled-sequence round-trip or
+ * a TLAB refill does not make the numbers flaky, while a regression on every call still shows.
+ */
+final class Budget {
+
+    static final int WARMUP = 5;
+    static final int RUNS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Budget() {
+    }
+
+    record Usage(long statements, long allocatedBytes) {
+    }
+
+    static Usage measure(Statistics statistics, Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long statements = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            statistics.clear();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            call.run();
+            allocated = Math.min(allocated, THREADS.getCurrentThreadAllocatedBytes() - before);
+            statements = Math.min(statements, statistics.getPrepareStatementCount());
+        }
+        return new Usage(statements, allocated);
+    }
+}
@@ -0,0 +1,213 @@
+package com.task.reifensbank.budget;
+
+import com.task.reifensbank.model.DocumentsUpdateMetadataRequest;
+import com.task.reifensbank.model.ProtocolCreate;
+import com.task.reifensbank.model.ProtocolState;
+import com.task.reifensbank.model.ProtocolStateUpdate;
+import com.task.reifensbank.model.ProtocolUpdate;
+import com.task.reifensbank.security.AppUserDetails;
+import com.task.reifensbank.service.storage.StorageService;
+import com.task.reifensbank.support.EmbeddedPostgresInitializer;
+import com.task.reifensbank.usecase.DocumentsAppService;
+import com.task.reifensbank.usecase.ProtocolsAppService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query-count and allocation budget per use case method, against the real schema.
+ * <p>
+ * Statement counts are exact: a change that adds a query (an N+1 over documents, a lazy load in a mapper)
+ * fails here and the budget has to be raised consciously in the same change. Allocation budgets are upper
+ * bounds with headroom for JDK/library updates; they catch an order-of-magnitude regression, not noise.
+ * <p>
+ * Only statements prepared through Hibernate are counted. {@code JdbcTemplate} calls are not, nor is the work
+ * database triggers do inside a counted statement (the {@code document_key} / {@code protocol_key} upkeep of
+ * 08_partitioning.sql on insert and delete).
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+class UseCaseBudgetIT {
+
+    private static final long KB = 1024;
+
+    @MockitoBean
+    StorageService storage;
+
+    @Autowired
+    DocumentsAppService documents;
+
+    @Autowired
+    ProtocolsAppService protocols;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(storage.buildObjectKey(any(), any())).thenAnswer(call -> "documents/" + call.getArgument(0) + "." + call.getArgument(1));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long userId = jdbc.queryForObject("SELECT id FROM \"user\" WHERE username = 'protocol_master'", Long.class);
+        var user = new AppUserDetails(userId, "protocol_master", "", true, true,
+                AuthorityUtils.createAuthorityList("CREATE_DOCUMENT", "EDIT_DOCUMENT", "VIEW_DOCUMENT",
+                        "CREATE_PROTOCOL", "EDIT_PROTOCOL", "VIEW_PROTOCOL"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void documentsCreate() {
+        Budget.Usage usage = Budget.measure(statistics, this::createDocument);
+
+        assertBudget("DocumentsAppService.create", usage, 1, 128 * KB);
+    }
+
+    @Test
+    void documentsList() {
+        createDocument();
+
+        Budget.Usage usage = Budget.measure(statistics,
+                () -> documents.list("protocol_master", null, null, null, 50, null));
+
+        assertBudget("DocumentsAppService.list", usage, 2, 128 * KB);
+    }
+
+    @Test
+    void documentsSearch() {
+        createDocument();
+
+        Budget.Usage usage = Budget.measure(statistics, () -> documents.search("budget", 0, 20));
+
+        assertBudget("DocumentsAppService.search", usage, 1, 128 * KB);
+    }
+
+    @Test
+    void documentsUpdateMetadata() {
+        UUID id = createDocument();
+        AtomicInteger version = new AtomicInteger();
+
+        Budget.Usage usage = Budget.measure(statistics, () -> documents.updateMetadata(id,
+                new DocumentsUpdateMetadataRequest().name("budget-report-" + version.incrementAndGet() + ".pdf")));
+
+        assertBudget("DocumentsAppService.updateMetadata", usage, 2, 128 * KB);
+    }
+
+    @Test
+    void documentsReplaceContent() {
+        UUID id = createDocument();
+
+        Budget.Usage usage = Budget.measure(statistics, () -> documents.replaceContent(id,
+                new MockMultipartFile("file", "budget-report.pdf", "application/pdf", new byte[2048])));
+
+        assertBudget("DocumentsAppService.replaceContent", usage, 2, 128 * KB);
+    }
+
+    @Test
+    void documentsDelete() {
+        Iterator<UUID> ids = createDocuments(Budget.WARMUP + Budget.RUNS).iterator();
+
+        Budget.Usage usage = Budget.measure(statistics, () -> documents.delete(ids.next()));
+
+        assertBudget("DocumentsAppService.delete", usage, 3, 128 * KB);
+    }
+
+    @Test
+    void protocolsCreate_withFiveDocuments() {
+        List<UUID> docs = createDocuments(5);
+
+        Budget.Usage usage = Budget.measure(statistics, () -> protocols.create(new ProtocolCreate().documentIds(docs)));
+
+        assertBudget("ProtocolsAppService.create", usage, 4, 256 * KB);
+    }
+
+    @Test
+    void protocolsGetById() {
+        UUID id = createProtocol(createDocuments(3));
+
+        Budget.Usage usage = Budget.measure(statistics, () -> protocols.getById(id));
+
+        assertBudget("ProtocolsAppService.getById", usage, 1, 192 * KB);
+    }
+
+    @Test
+    void protocolsUpdateState() {
+        UUID id = createProtocol(createDocuments(3));
+
+        Budget.Usage usage = Budget.measure(statistics,
+                () -> protocols.updateState(id, new ProtocolStateUpdate().state(ProtocolState.PREPARE_FOR_SHIPMENT)));
+
+        assertBudget("ProtocolsAppService.updateState", usage, 2, 256 * KB);
+    }
+
+    @Test
+    void protocolsUpdateAll_withFiveDocuments() {
+        List<UUID> docs = createDocuments(5);
+        UUID id = createProtocol(docs.subList(0, 2));
+
+        Budget.Usage usage = Budget.measure(statistics,
+                () -> protocols.updateAll(id, new ProtocolUpdate().state(ProtocolState.NEW).documentIds(docs)));
+
+        assertBudget("ProtocolsAppService.updateAll", usage, 4, 384 * KB);
+    }
+
+    @Test
+    void protocolsSearch() {
+        createProtocol(createDocuments(1));
+
+        Budget.Usage usage = Budget.measure(statistics, () -> protocols.search("NEW", 0, 20));
+
+        assertBudget("ProtocolsAppService.search", usage, 1, 64 * KB);
+    }
+
+    private static void assertBudget(String useCase, Budget.Usage usage, long statements, long maxAllocatedBytes) {
+        assertThat(usage.statements()).as("%s: JDBC statements per call", useCase).isEqualTo(statements);
+        assertThat(usage.allocatedBytes()).as("%s: bytes allocated per call", useCase).isLessThanOrEqualTo(maxAllocatedBytes);
+    }
+
+    private UUID createDocument() {
+        return documents.create(new MockMultipartFile("file", "budget-report.pdf", "application/pdf", new byte[1024]),
+                "budget-report.pdf", "application/pdf").getBody().getId();
+    }
+
+    private List<UUID> createDocuments(int count) {
+        return IntStream.range(0, count).mapToObj(i -> createDocument()).toList();
+    }
+
+    private UUID createProtocol(List<UUID> docs) {
+        return protocols.create(new ProtocolCreate().documentIds(docs)).getBody().getId();
+    }
+}
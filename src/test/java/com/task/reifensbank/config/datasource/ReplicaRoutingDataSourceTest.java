@@ -0,0 +1,143 @@
+package com.task.reifensbank.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            pool("primary-pool"), List.of(pool("replica-1"), pool("replica-2")), 60_000);
+
+    @AfterEach
+    void tearDown() {
+        endTransaction();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnly_roundRobinsOverReplicas() {
+        assertThat(List.of(route(true), route(true), route(true))).containsExactly("replica-1", "replica-2", "replica-1");
+    }
+
+    @Test
+    void readWrite_goesToPrimary() {
+        assertThat(route(false)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void withoutReplicas_readOnlyGoesToPrimary() {
+        ReplicaRoutingDataSource primaryOnly = new ReplicaRoutingDataSource(pool("primary-pool"), List.of(), 60_000);
+        beginTransaction(true);
+
+        assertThat(primaryOnly.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void committedWrite_makesUsersReadsSticky() {
+        login("john");
+        write(true);
+
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        login("jane");
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void stickinessStartsAtCommit_notWhenTheWriteBegins() {
+        login("john");
+        beginTransaction(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        endTransaction();
+
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void rolledBackWrite_isNotSticky() {
+        login("john");
+        write(false);
+
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void stickinessEndsAfterWindow() throws InterruptedException {
+        ReplicaRoutingDataSource shortWindow = new ReplicaRoutingDataSource(
+                pool("primary-pool"), List.of(pool("replica-1")), 1);
+        login("john");
+        beginTransaction(false);
+        shortWindow.determineCurrentLookupKey();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        endTransaction();
+        Thread.sleep(5);
+
+        beginTransaction(true);
+        assertThat(shortWindow.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void anonymousWrites_areNotSticky() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        write(true);
+
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    private Object route(boolean readOnly) {
+        beginTransaction(readOnly);
+        try {
+            return routing.determineCurrentLookupKey();
+        } finally {
+            endTransaction();
+        }
+    }
+
+    private void write(boolean commit) {
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        if (commit) {
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        }
+        endTransaction();
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    /**
+     * Never started: the routing only needs the pool name as lookup key.
+     */
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        return pool;
+    }
+}
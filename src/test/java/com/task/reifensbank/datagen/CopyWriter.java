@@ -0,0 +1,87 @@
+package com.task.reifensbank.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Rows streamed into one {@code COPY <table> FROM STDIN} (text format), buffered in 64 KB chunks. {@code null} is
+ * written as {@code \N}; everything else by {@code toString()}, escaped.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    private final CopyIn copy;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+    private long rows;
+    private boolean ended;
+
+    CopyWriter(Connection connection, String table, String columns) throws SQLException {
+        this.copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            if (values[i] == null) {
+                buffer.append("\\N");
+            } else {
+                escape(values[i].toString());
+            }
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    /**
+     * Ends the COPY and returns the number of rows the server took.
+     */
+    long end() throws SQLException {
+        flush();
+        ended = true;
+        long copied = copy.endCopy();
+        if (copied != rows) {
+            throw new IllegalStateException("COPY took " + copied + " of " + rows + " rows");
+        }
+        return copied;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!ended && copy.isActive()) {
+            copy.cancelCopy();
+        }
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,422 @@
+package com.task.reifensbank.datagen;
+
+import com.task.reifensbank.service.code.SequenceProtocolCodeGenerator;
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a synthetic dataset for scale testing: {@code mvn -Pdatagen test-compile exec:exec}.
+ * <p>
+ * Adds users with roles, documents (metadata only, or with a dummy object each in MinIO) and protocols linking
+ * documents to an existing database – the one of the {@code localhost} profile by default. See
+ * {@link DatasetSettings} for volumes and shapes, {@link Distributions} for how rows are drawn.
+ * <p>
+ * Ids and protocol codes are reserved up front as one range per sequence ({@code nextval} + {@code setval}), so
+ * the generated rows and the application's pooled allocators never collide. The range is only safe while nobody
+ * else draws from the sequences, so run it against an idle database. Rows go in through {@code COPY} on
+ * {@code workers} connections, one transaction per {@code batchSize} rows; with the same settings and the same
+ * starting sequences the data is identical, independent of the number of workers.
+ */
+public final class DatasetGenerator {
+
+    /** BCrypt of {@code password}, as for the seeded users. */
+    private static final String PASSWORD_HASH = "$2b$10$F1xoVrG7BD23ZSsWbd5kz.QGGeqTjRGNXtmQdJbO.AxCURd5tzeki";
+
+    /** Role sets of generated users, weighted by {@link #PROFILE_WEIGHTS}. */
+    private static final String[][] PROFILES = {
+            {"DOC_READ", "PROT_READ"},
+            {"DOC_CREATE"},
+            {"DOC_EDIT"},
+            {"DOC_READ", "PROT_CREATE"},
+            {"DOC_READ", "PROT_EDIT"},
+            {"DOC_EDIT", "PROT_EDIT"},
+    };
+    private static final int[] PROFILE_WEIGHTS = {40, 20, 10, 15, 10, 5};
+
+    private static final String[][] FILE_TYPES = {
+            {"pdf", "application/pdf"},
+            {"docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"},
+            {"xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"},
+            {"png", "image/png"},
+            {"jpg", "image/jpeg"},
+            {"txt", "text/plain"},
+    };
+    private static final int[] FILE_TYPE_WEIGHTS = {50, 15, 10, 10, 10, 5};
+
+    private static final String[] STATUSES = {"NEW", "PREPARE_FOR_SHIPMENT", "CANCELED"};
+    private static final int[] RECENT_STATUS_WEIGHTS = {60, 30, 10};
+    private static final int[] SETTLED_STATUS_WEIGHTS = {5, 80, 15};
+    private static final Duration RECENT = Duration.ofDays(14);
+
+    private static final String[] WORDS = {
+            "invoice", "contract", "delivery", "order", "customs", "receipt", "warehouse", "tyre", "rim", "winter",
+            "summer", "inspection", "claim", "return", "supplier", "fleet", "report", "quarterly", "annex", "offer",
+            "transport", "pallet", "batch", "quality", "damage", "audit", "certificate", "shipment", "branch", "stock"
+    };
+
+    private final DatasetSettings settings;
+    private final Instant start;
+    private final Map<String, Long> roleIds = new HashMap<>();
+    private final Map<String, AtomicLong> copied = new HashMap<>();
+    private MinioClient minio;
+    private byte[] blobContent;
+
+    private long firstUserId;
+    private long firstDocumentId;
+    private long firstProtocolId;
+    private long firstCode;
+    private int[] uploaders;
+    private int[] authors;
+
+    private DatasetGenerator(DatasetSettings settings) {
+        this.settings = settings;
+        this.start = settings.end().atOffset(ZoneOffset.UTC).minusMonths(settings.months()).toInstant();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DatasetGenerator(DatasetSettings.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Generating %d users, %d documents (%s), %d protocols from %s to %s on %d workers%n",
+                settings.users(), settings.documents(), settings.blobs(), settings.protocols(), start, settings.end(),
+                settings.workers());
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            try (ResultSet roles = statement.executeQuery("SELECT code_name, id FROM role")) {
+                while (roles.next()) {
+                    roleIds.put(roles.getString(1), roles.getLong(2));
+                }
+            }
+            for (String[] profile : PROFILES) {
+                for (String role : profile) {
+                    if (!roleIds.containsKey(role)) {
+                        throw new IllegalStateException("Role " + role + " missing – is the database initialized?");
+                    }
+                }
+            }
+            firstUserId = reserve(connection, "user_id_seq", settings.users());
+            firstDocumentId = reserve(connection, "document_id_seq", settings.documents());
+            firstProtocolId = reserve(connection, "protocol_id_seq", settings.protocols());
+            firstCode = reserve(connection, "protocol_code_seq", settings.protocols());
+            createPartitions(connection, "document");
+            createPartitions(connection, "protocol");
+        }
+        assignRoles();
+        if (settings.blobs().equals("minio")) {
+            prepareBlobs();
+        }
+
+        phase("users", settings.users(), this::copyUsers);
+        phase("documents", settings.documents(), this::copyDocuments);
+        phase("protocols", settings.protocols(), this::copyProtocols);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            long startNanos = System.nanoTime();
+            statement.execute("ANALYZE \"user\", user_role, document, document_key, protocol, protocol_key, protocol_document");
+            System.out.printf("ANALYZE in %.1f s%n", (System.nanoTime() - startNanos) / 1e9);
+        }
+        copied.forEach((table, rows) -> System.out.printf("  %-18s %,12d rows%n", table, rows.get()));
+    }
+
+    // ---------------------------------------------------------------- rows
+
+    private void copyUsers(Connection connection, long from, long to) throws SQLException {
+        try (CopyWriter users = new CopyWriter(connection, "\"user\"",
+                "id, public_id, username, password_hash, created_at, updated_at, last_login")) {
+            for (long i = from; i < to; i++) {
+                SplittableRandom random = Distributions.row(settings.seed(), Distributions.USERS, i);
+                long id = firstUserId + i;
+                Instant createdAt = Distributions.timeline(random, start, settings.end(), i, settings.users());
+                Instant lastLogin = createdAt.plusMillis((long) (random.nextDouble()
+                        * (settings.end().toEpochMilli() - createdAt.toEpochMilli())));
+                users.row(id, Distributions.uuidV7(random, createdAt), "user_" + id, PASSWORD_HASH, createdAt,
+                        createdAt, lastLogin);
+            }
+            count("user", users.end());
+        }
+        try (CopyWriter userRoles = new CopyWriter(connection, "user_role", "user_id, role_id")) {
+            for (long i = from; i < to; i++) {
+                for (String role : PROFILES[profile(i)]) {
+                    userRoles.row(firstUserId + i, roleIds.get(role));
+                }
+            }
+            count("user_role", userRoles.end());
+        }
+    }
+
+    private void copyDocuments(Connection connection, long from, long to) throws Exception {
+        try (CopyWriter documents = new CopyWriter(connection, "document",
+                "id, public_id, filename, content_type, size_bytes, storage_path, uploaded_by, created_at, updated_at")) {
+            for (long i = from; i < to; i++) {
+                SplittableRandom random = Distributions.row(settings.seed(), Distributions.DOCUMENTS, i);
+                Instant createdAt = Distributions.timeline(random, start, settings.end(), i, settings.documents());
+                UUID publicId = Distributions.uuidV7(random, createdAt);
+                String[] type = FILE_TYPES[Distributions.weighted(random, FILE_TYPE_WEIGHTS)];
+                String filename = word(random) + "-" + word(random) + "-" + (1000 + random.nextInt(9000)) + "." + type[0];
+                long maxSize = settings.blobs().equals("minio") ? settings.maxBlobSize() : 100L << 20;
+                long size = Math.clamp((long) Distributions.logNormal(random, 200_000, 1.3), 200, maxSize);
+                String storagePath = "documents/" + publicId + "." + type[0];
+                long uploadedBy = firstUserId + pickUser(random, uploaders, createdAt);
+
+                if (minio != null) {
+                    int offset = random.nextInt(settings.maxBlobSize());
+                    minio.putObject(PutObjectArgs.builder()
+                            .bucket(settings.minioBucket())
+                            .object(storagePath)
+                            .stream(new ByteArrayInputStream(blobContent, offset, (int) size), size, -1)
+                            .contentType(type[1])
+                            .build());
+                }
+                documents.row(firstDocumentId + i, publicId, filename, type[1], size, storagePath, uploadedBy,
+                        createdAt, createdAt);
+            }
+            count("document", documents.end());
+        }
+    }
+
+    private void copyProtocols(Connection connection, long from, long to) throws SQLException {
+        List<long[]> links = new ArrayList<>();
+        try (CopyWriter protocols = new CopyWriter(connection, "protocol",
+                "id, public_id, code, title, description, status, created_by, updated_by, created_at, updated_at")) {
+            for (long i = from; i < to; i++) {
+                SplittableRandom random = Distributions.row(settings.seed(), Distributions.PROTOCOLS, i);
+                long id = firstProtocolId + i;
+                Instant createdAt = Distributions.timeline(random, start, settings.end(), i, settings.protocols());
+                boolean recent = createdAt.isAfter(settings.end().minus(RECENT));
+                String status = STATUSES[Distributions.weighted(random,
+                        recent ? RECENT_STATUS_WEIGHTS : SETTLED_STATUS_WEIGHTS)];
+                long createdBy = firstUserId + pickUser(random, authors, createdAt);
+                long updatedBy = status.equals("NEW") ? createdBy : firstUserId + pickUser(random, authors, createdAt);
+                Instant updatedAt = status.equals("NEW") ? createdAt : createdAt.plusMillis(Math.min(
+                        (long) (random.nextDouble() * RECENT.toMillis()),
+                        settings.end().toEpochMilli() - createdAt.toEpochMilli()));
+                String title = capitalize(word(random)) + " " + word(random) + " " + word(random);
+                String description = random.nextInt(10) < 3 ? null
+                        : capitalize(word(random)) + " of " + word(random) + " for " + word(random) + ".";
+                protocols.row(id, Distributions.uuidV7(random, createdAt),
+                        SequenceProtocolCodeGenerator.encode(firstCode + i), title, description, status,
+                        createdBy, updatedBy, createdAt, updatedAt);
+
+                for (long document : pickDocuments(random, createdAt)) {
+                    links.add(new long[]{id, firstDocumentId + document});
+                }
+            }
+            count("protocol", protocols.end());
+        }
+        try (CopyWriter protocolDocuments = new CopyWriter(connection, "protocol_document", "protocol_id, document_id")) {
+            for (long[] link : links) {
+                protocolDocuments.row(link[0], link[1]);
+            }
+            count("protocol_document", protocolDocuments.end());
+        }
+    }
+
+    /**
+     * Log-normal fan-out around the configured median, drawn among the documents that existed when the protocol
+     * was created, recent ones first.
+     */
+    private Set<Long> pickDocuments(SplittableRandom random, Instant createdAt) {
+        long available = Math.max(1, Distributions.createdBefore(createdAt, start, settings.end(), settings.documents()));
+        int wanted = (int) Math.min(available, Math.clamp(
+                Math.round(Distributions.logNormal(random, settings.docsPerProtocol(), 0.8)),
+                1, settings.maxDocsPerProtocol()));
+        Set<Long> picked = new LinkedHashSet<>();
+        for (int attempt = 0; picked.size() < wanted && attempt < wanted * 4; attempt++) {
+            picked.add(available - 1 - Distributions.skewed(random, (int) Math.min(available, Integer.MAX_VALUE)));
+        }
+        return picked;
+    }
+
+    /**
+     * A user of the group (indexes in creation order) who already existed at {@code at}; early users are the most
+     * active ones.
+     */
+    private long pickUser(SplittableRandom random, int[] group, Instant at) {
+        long existing = Distributions.createdBefore(at, start, settings.end(), settings.users());
+        int position = Arrays.binarySearch(group, (int) Math.min(existing, Integer.MAX_VALUE));
+        int candidates = Math.max(1, position >= 0 ? position : -position - 1);
+        return group[Distributions.skewed(random, candidates)];
+    }
+
+    /**
+     * Splits the generated users into uploaders (may create documents) and protocol authors; a group that ends
+     * up empty at small volumes falls back to all users.
+     */
+    private void assignRoles() {
+        List<Integer> docs = new ArrayList<>();
+        List<Integer> prots = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            List<String> roles = List.of(PROFILES[profile(i)]);
+            if (roles.contains("DOC_CREATE") || roles.contains("DOC_EDIT")) {
+                docs.add(i);
+            }
+            if (roles.contains("PROT_CREATE") || roles.contains("PROT_EDIT")) {
+                prots.add(i);
+            }
+        }
+        int[] all = new int[(int) settings.users()];
+        Arrays.setAll(all, i -> i);
+        uploaders = docs.isEmpty() ? all : docs.stream().mapToInt(Integer::intValue).toArray();
+        authors = prots.isEmpty() ? all : prots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int profile(long user) {
+        return Distributions.weighted(Distributions.row(settings.seed(), Distributions.ROLES, user), PROFILE_WEIGHTS);
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    // ---------------------------------------------------------------- loading
+
+    @FunctionalInterface
+    private interface Batch {
+        void copy(Connection connection, long from, long to) throws Exception;
+    }
+
+    /**
+     * Runs {@code batch} over {@code [0, rows)} in chunks of {@code batchSize}, each chunk in its own transaction,
+     * on {@code workers} connections; the first failure stops the phase.
+     */
+    private void phase(String name, long rows, Batch batch) throws Exception {
+        if (rows == 0) {
+            return;
+        }
+        AtomicLong next = new AtomicLong();
+        AtomicLong done = new AtomicLong();
+        AtomicLong lastReport = new AtomicLong(System.nanoTime());
+        long startNanos = System.nanoTime();
+        int workers = (int) Math.min(settings.workers(), (rows + settings.batchSize() - 1) / settings.batchSize());
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        long from;
+                        while (!Thread.currentThread().isInterrupted()
+                                && (from = next.getAndAdd(settings.batchSize())) < rows) {
+                            long to = Math.min(rows, from + settings.batchSize());
+                            try {
+                                batch.copy(connection, from, to);
+                                connection.commit();
+                            } catch (Exception e) {
+                                connection.rollback();
+                                throw e;
+                            }
+                            long total = done.addAndGet(to - from);
+                            long now = System.nanoTime();
+                            long last = lastReport.get();
+                            if (now - last > 2_000_000_000L && lastReport.compareAndSet(last, now)) {
+                                System.out.printf("  %s %,d / %,d%n", name, total, rows);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw new IllegalStateException(name + " failed after " + done.get() + " rows", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%s: %,d in %.1f s (%,.0f rows/s)%n", name, rows, seconds, rows / seconds);
+    }
+
+    private void count(String table, long rows) {
+        synchronized (copied) {
+            copied.computeIfAbsent(table, t -> new AtomicLong()).addAndGet(rows);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(settings.url(), settings.dbUser(), settings.dbPassword());
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    /**
+     * First of {@code count} sequence values nobody else will get: the sequence is moved past the range, so the next
+     * {@code nextval} – a pooled block of the application included – starts after it.
+     */
+    private static long reserve(Connection connection, String sequence, long count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT nextval(?::regclass)")) {
+            statement.setString(1, sequence);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                long first = result.getLong(1) + 1;
+                try (PreparedStatement set = connection.prepareStatement("SELECT setval(?::regclass, ?)")) {
+                    set.setString(1, sequence);
+                    set.setLong(2, first - 1 + count);
+                    set.execute();
+                }
+                connection.commit();
+                return first;
+            }
+        }
+    }
+
+    private void createPartitions(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT create_monthly_partitions(?, ?, ?)")) {
+            statement.setString(1, table);
+            statement.setObject(2, LocalDate.ofInstant(start, ZoneOffset.UTC));
+            statement.setObject(3, LocalDate.ofInstant(settings.end(), ZoneOffset.UTC));
+            statement.execute();
+        }
+        connection.commit();
+    }
+
+    private void prepareBlobs() throws Exception {
+        minio = MinioClient.builder()
+                .endpoint(settings.minioEndpoint())
+                .credentials(settings.minioAccessKey(), settings.minioSecretKey())
+                .build();
+        if (!minio.bucketExists(BucketExistsArgs.builder().bucket(settings.minioBucket()).build())) {
+            minio.makeBucket(MakeBucketArgs.builder().bucket(settings.minioBucket()).build());
+        }
+        blobContent = new byte[2 * settings.maxBlobSize()];
+        new SplittableRandom(settings.seed()).nextBytes(blobContent);
+    }
+}
@@ -0,0 +1,114 @@
+package com.task.reifensbank.datagen;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link DatasetGenerator} parameters, from {@code --name=value} arguments. Database and MinIO defaults are those of
+ * the {@code localhost} profile (same {@code DB_*} / {@code MINIO_*} environment variables).
+ *
+ * @param users              generated users (on top of the seeded ones)
+ * @param documents          generated documents
+ * @param protocols          generated protocols
+ * @param docsPerProtocol    median number of documents per protocol (log-normal, long tail)
+ * @param maxDocsPerProtocol upper bound of the tail
+ * @param months             history covered by {@code created_at}, ending at {@code end}; more recent months get
+ *                           more rows
+ * @param end                end of the generated history; fix it for datasets that are identical across days
+ * @param seed               every row is derived from (seed, table, row number) – independent of worker scheduling
+ * @param workers            parallel COPY connections
+ * @param batchSize          rows per COPY (one transaction each)
+ * @param blobs              {@code metadata} (rows only) or {@code minio} (plus a dummy object per document)
+ * @param maxBlobSize        cap of a dummy object; {@code size_bytes} then matches the stored object
+ */
+record DatasetSettings(String url,
+                       String dbUser,
+                       String dbPassword,
+                       long users,
+                       long documents,
+                       long protocols,
+                       int docsPerProtocol,
+                       int maxDocsPerProtocol,
+                       int months,
+                       Instant end,
+                       long seed,
+                       int workers,
+                       int batchSize,
+                       String blobs,
+                       String minioEndpoint,
+                       String minioAccessKey,
+                       String minioSecretKey,
+                       String minioBucket,
+                       int maxBlobSize) {
+
+    static DatasetSettings parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Options o = new Options(values);
+        DatasetSettings settings = new DatasetSettings(
+                o.get("url", "jdbc:postgresql://%s:%s/%s".formatted(env("DB_HOST", "localhost"), env("DB_PORT", "5432"),
+                        env("DB_NAME", "appdb"))),
+                o.get("db-user", env("DB_USER", "app")),
+                o.get("db-password", env("DB_PASSWORD", "app")),
+                Long.parseLong(o.get("users", "10000")),
+                Long.parseLong(o.get("documents", "1000000")),
+                Long.parseLong(o.get("protocols", "100000")),
+                Integer.parseInt(o.get("docs-per-protocol", "4")),
+                Integer.parseInt(o.get("max-docs-per-protocol", "200")),
+                Integer.parseInt(o.get("months", "24")),
+                Instant.parse(o.get("end", LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant().toString())),
+                Long.parseLong(o.get("seed", "42")),
+                Integer.parseInt(o.get("workers", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(o.get("batch-size", "20000")),
+                o.get("blobs", "metadata"),
+                o.get("minio-endpoint", env("MINIO_ENDPOINT", "http://localhost:9000")),
+                o.get("minio-access-key", env("MINIO_ROOT_USER", "minio")),
+                o.get("minio-secret-key", env("MINIO_ROOT_PASSWORD", "minio-secret")),
+                o.get("minio-bucket", env("MINIO_BUCKET", "files")),
+                Integer.parseInt(o.get("max-blob-size", String.valueOf(1 << 20))));
+        if (!o.unused().isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + o.unused());
+        }
+        if (!settings.blobs().equals("metadata") && !settings.blobs().equals("minio")) {
+            throw new IllegalArgumentException("--blobs must be metadata or minio, was " + settings.blobs());
+        }
+        if (settings.documents() > 0 && settings.users() == 0) {
+            throw new IllegalArgumentException("Documents need at least one generated user as uploader");
+        }
+        if (settings.protocols() > 0 && settings.documents() == 0) {
+            throw new IllegalArgumentException("Protocols need generated documents to link");
+        }
+        return settings;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private static final class Options {
+        private final Map<String, String> remaining;
+
+        Options(Map<String, String> values) {
+            this.remaining = new LinkedHashMap<>(values);
+        }
+
+        String get(String name, String fallback) {
+            String value = remaining.remove(name);
+            return value != null ? value : fallback;
+        }
+
+        Set<String> unused() {
+            return remaining.keySet();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.task.reifensbank.datagen;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Shapes of the generated data. Every row draws from its own {@link #row(long, long, long) random}, derived from
+ * (seed, table, row number) only, so a row is the same whichever worker generates it and in whatever order.
+ */
+final class Distributions {
+
+    static final long USERS = 1;
+    static final long DOCUMENTS = 2;
+    static final long PROTOCOLS = 3;
+    static final long ROLES = 4;
+
+    private Distributions() {
+    }
+
+    static SplittableRandom row(long seed, long table, long index) {
+        return new SplittableRandom(mix(mix(seed ^ table * 0x9E3779B97F4A7C15L) + index));
+    }
+
+    /**
+     * Index in {@code [0, n)} with a long head: the first 10% of the range get about half the picks (a few users
+     * upload most documents, recent documents are attached most).
+     */
+    static int skewed(SplittableRandom random, int n) {
+        double u = random.nextDouble();
+        return (int) Math.min(n - 1, (long) (n * u * u * u));
+    }
+
+    /**
+     * Log-normal around {@code median}: most values close to it, a long tail above.
+     */
+    static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    /**
+     * Creation time of row {@code index} of {@code count} in {@code [start, end)}: rows are generated in time order
+     * (as ids handed out by a sequence would be), with a density growing linearly towards {@code end} – a system
+     * whose usage grew over its history.
+     */
+    static Instant timeline(SplittableRandom random, Instant start, Instant end, long index, long count) {
+        double position = Math.sqrt((index + random.nextDouble()) / count);
+        return start.plusMillis((long) (span(start, end) * position));
+    }
+
+    /**
+     * How many of {@code count} rows on the {@link #timeline} were created before {@code at}.
+     */
+    static long createdBefore(Instant at, Instant start, Instant end, long count) {
+        double position = Math.clamp((double) (at.toEpochMilli() - start.toEpochMilli()) / span(start, end), 0, 1);
+        return Math.min(count, (long) (count * position * position));
+    }
+
+    /**
+     * Index of the picked weight.
+     */
+    static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        int i = 0;
+        while (pick >= weights[i]) {
+            pick -= weights[i++];
+        }
+        return i;
+    }
+
+    /**
+     * Time-ordered UUID (version 7) for {@code createdAt}, as the rows inserted at that time would roughly have.
+     */
+    static UUID uuidV7(SplittableRandom random, Instant createdAt) {
+        long msb = createdAt.toEpochMilli() << 16 | 0x7000L | random.nextInt(1 << 12);
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static long span(Instant start, Instant end) {
+        return end.toEpochMilli() - start.toEpochMilli();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
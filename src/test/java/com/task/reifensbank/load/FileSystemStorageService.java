@@ -0,0 +1,50 @@
+package com.task.reifensbank.load;
+
+import com.task.reifensbank.service.storage.StorageService;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Objects as files under a local directory, one per object key – closer to MinIO's I/O than
+ * {@link InMemoryStorageService}, without its network hop.
+ */
+class FileSystemStorageService implements StorageService {
+
+    private final Path root;
+
+    FileSystemStorageService(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public String put(String objectKey, MultipartFile file) throws Exception {
+        Path target = resolve(objectKey);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return objectKey;
+    }
+
+    @Override
+    public InputStream get(String objectKey) throws Exception {
+        return Files.newInputStream(resolve(objectKey));
+    }
+
+    @Override
+    public void delete(String objectKey) throws Exception {
+        Files.deleteIfExists(resolve(objectKey));
+    }
+
+    private Path resolve(String objectKey) {
+        Path path = root.resolve(objectKey).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Object key outside the storage root: " + objectKey);
+        }
+        return path;
+    }
+}
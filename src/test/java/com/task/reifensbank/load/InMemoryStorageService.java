@@ -0,0 +1,38 @@
+package com.task.reifensbank.load;
+
+import com.task.reifensbank.service.storage.StorageService;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Objects kept on the heap: the storage round-trip costs a copy of the upload and nothing else.
+ */
+class InMemoryStorageService implements StorageService {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public String put(String objectKey, MultipartFile file) throws Exception {
+        objects.put(objectKey, file.getBytes());
+        return objectKey;
+    }
+
+    @Override
+    public InputStream get(String objectKey) throws Exception {
+        byte[] content = objects.get(objectKey);
+        if (content == null) {
+            throw new FileNotFoundException(objectKey);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void delete(String objectKey) {
+        objects.remove(objectKey);
+    }
+}
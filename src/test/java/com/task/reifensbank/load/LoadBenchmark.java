@@ -0,0 +1,103 @@
+package com.task.reifensbank.load;
+
+import com.task.reifensbank.ReifensbankApplication;
+import com.task.reifensbank.support.EmbeddedPostgresInitializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * End-to-end throughput of the whole application in one JVM: {@code mvn -Pload test-compile exec:exec}.
+ * <p>
+ * Boots the application on a random port against an embedded PostgreSQL (the Docker init scripts) with MinIO
+ * replaced by {@link LoadStandInConfig}, logs in the seeded users, seeds documents and protocols, then runs
+ * {@code concurrency} closed-loop clients over the configured {@link Operation} mix through the real HTTP
+ * stack – warm-up first, then the measured window. See {@link LoadSettings} for the options and
+ * {@link LoadReport} for what is reported.
+ * <p>
+ * Every run starts from an empty database and uses the same seeds, so runs with the same options on the same
+ * machine are comparable; absolute numbers are not those of a production deployment.
+ */
+public final class LoadBenchmark {
+
+    private LoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.parse(args);
+
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ReifensbankApplication.class, LoadStandInConfig.class)
+                .profiles("load")
+                .initializers(new EmbeddedPostgresInitializer())
+                .properties(Map.of("load.storage", settings.storage()))
+                .run()) {
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            LoadClient client = new LoadClient(URI.create("http://localhost:" + port), settings);
+            client.prepare();
+
+            LoadReport report = new LoadReport(app.getBean(MeterRegistry.class));
+            System.out.printf("Warm-up %s, %d clients ...%n", settings.warmup(), settings.concurrency());
+            run(client, settings, settings.warmup(), report);
+
+            System.out.printf("Measuring %s ...%n", settings.duration());
+            report.start();
+            run(client, settings, settings.duration(), report);
+            report.stop();
+
+            report.print(System.out);
+            report.write(settings.output(), settings);
+            System.out.println("Results written to " + settings.output());
+        }
+    }
+
+    private static void run(LoadClient client, LoadSettings settings, Duration duration, LoadReport report)
+            throws InterruptedException {
+        Operation[] operations = settings.mix().keySet().toArray(Operation[]::new);
+        int[] cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulative[i] = total;
+        }
+        int weights = total;
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> clients = new ArrayList<>(settings.concurrency());
+        for (int c = 0; c < settings.concurrency(); c++) {
+            Random random = new Random(settings.seed() + c + 1);
+            clients.add(Thread.ofPlatform().name("load-client-" + c).start(() -> {
+                while (System.nanoTime() < deadline) {
+                    int pick = random.nextInt(weights);
+                    int i = 0;
+                    while (cumulative[i] <= pick) {
+                        i++;
+                    }
+                    Operation operation = operations[i];
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.execute(operation, random);
+                        report.record(operation, System.nanoTime() - start, response.statusCode());
+                    } catch (IOException e) {
+                        report.error(operation, e.getClass().getSimpleName());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.task.reifensbank.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * HTTP side of {@link LoadBenchmark}: real requests with bearer tokens against the running server, so every call
+ * goes through Tomcat, the security filter chains, JSON (de)serialization and the database.
+ */
+class LoadClient {
+
+    private static final String BOUNDARY = "reifensbank-load-boundary";
+    private static final String[] STATES = {"NEW", "PREPARE_FOR_SHIPMENT"};
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper json = new ObjectMapper();
+    private final URI base;
+    private final LoadSettings settings;
+    private final byte[] fileContent;
+
+    private String documentToken;
+    private String protocolToken;
+    private List<UUID> documents = List.of();
+    private List<UUID> protocols = List.of();
+
+    LoadClient(URI base, LoadSettings settings) {
+        this.base = base;
+        this.settings = settings;
+        this.fileContent = new byte[settings.fileSize()];
+        new Random(settings.seed()).nextBytes(fileContent);
+    }
+
+    /**
+     * Logs in the seeded users and creates the documents and protocols the mix reads and updates.
+     */
+    void prepare() throws IOException, InterruptedException {
+        documentToken = login("editor_doc");
+        protocolToken = login("protocol_master");
+
+        Random random = new Random(settings.seed());
+        List<UUID> docs = new ArrayList<>(settings.seedDocuments());
+        for (int i = 0; i < settings.seedDocuments(); i++) {
+            docs.add(id(expect(201, upload(i))));
+        }
+        documents = List.copyOf(docs);
+
+        List<UUID> prots = new ArrayList<>(settings.seedProtocols());
+        for (int i = 0; i < settings.seedProtocols(); i++) {
+            prots.add(id(expect(201, createProtocol(random))));
+        }
+        protocols = List.copyOf(prots);
+    }
+
+    /**
+     * Sends one request of the given kind and returns its response.
+     */
+    HttpResponse<byte[]> execute(Operation operation, Random random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case UPLOAD -> upload(random.nextInt(1_000_000));
+            case PROTOCOL_CREATE -> createProtocol(random);
+            case STATE_UPDATE -> send(request(protocolToken, "/protocols/" + pick(protocols, random) + "/state")
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"state\":\"" + STATES[random.nextInt(STATES.length)] + "\"}")));
+            case PROTOCOL_READ -> send(request(protocolToken, "/protocols/" + pick(protocols, random)).GET());
+            case DOCUMENT_LIST -> send(request(documentToken, "/documents").GET());
+        };
+    }
+
+    private HttpResponse<byte[]> upload(int n) throws IOException, InterruptedException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(fileContent.length + 512);
+        part(body, "name", null, null, ("load-" + n).getBytes(StandardCharsets.UTF_8));
+        part(body, "type", null, null, "pdf".getBytes(StandardCharsets.UTF_8));
+        part(body, "file", "load-" + n + ".pdf", "application/pdf", fileContent);
+        body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        return send(request(documentToken, "/documents")
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+    }
+
+    private HttpResponse<byte[]> createProtocol(Random random) throws IOException, InterruptedException {
+        List<UUID> ids = new ArrayList<>(settings.docsPerProtocol());
+        for (int i = 0; i < settings.docsPerProtocol(); i++) {
+            ids.add(pick(documents, random));
+        }
+        byte[] body = json.writeValueAsBytes(Map.of("documentIds", ids, "state", "NEW"));
+        return send(request(protocolToken, "/protocols")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        byte[] body = json.writeValueAsBytes(Map.of("username", username, "password", "password"));
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(base.resolve("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+        return json.readTree(expect(200, response).body()).get("accessToken").asText();
+    }
+
+    private HttpRequest.Builder request(String token, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private UUID id(HttpResponse<byte[]> response) throws IOException {
+        JsonNode body = json.readTree(response.body());
+        return UUID.fromString(body.get("id").asText());
+    }
+
+    private static HttpResponse<byte[]> expect(int status, HttpResponse<byte[]> response) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " answered " + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private static UUID pick(List<UUID> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static void part(ByteArrayOutputStream body, String name, String filename, String contentType, byte[] content) {
+        StringBuilder headers = new StringBuilder("--").append(BOUNDARY).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (filename != null) {
+            headers.append("; filename=\"").append(filename).append('"');
+        }
+        headers.append("\r\n");
+        if (contentType != null) {
+            headers.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        headers.append("\r\n");
+        body.writeBytes(headers.toString().getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+}
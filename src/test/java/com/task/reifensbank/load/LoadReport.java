@@ -0,0 +1,221 @@
+package com.task.reifensbank.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What {@link LoadBenchmark} measures between {@link #start()} and {@link #stop()}: latency per operation
+ * (HdrHistogram, client side, i.e. including the HTTP hop), errors by status, GC collections and pause time of the
+ * whole JVM (server and load clients share it), and the saturation of the Hikari pool and the Tomcat worker
+ * threads, sampled every 100 ms from the application's own meters.
+ */
+class LoadReport {
+
+    private static final long SAMPLE_MILLIS = 100;
+
+    private final MeterRegistry registry;
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> measured = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, Saturation> saturation = new LinkedHashMap<>();
+    private final Map<String, long[]> gcAtStart = new LinkedHashMap<>();
+    private final Map<String, long[]> gc = new LinkedHashMap<>();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "load-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean recording;
+    private long startNanos;
+    private long elapsedNanos;
+
+    LoadReport(MeterRegistry registry) {
+        this.registry = registry;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(3));
+        }
+        saturation.put("hikari.active", new Saturation("hikaricp.connections.active", "hikaricp.connections.max"));
+        saturation.put("hikari.pending", new Saturation("hikaricp.connections.pending", null));
+        saturation.put("tomcat.busy", new Saturation("tomcat.threads.busy", "tomcat.threads.config.max"));
+    }
+
+    void record(Operation operation, long nanos, int status) {
+        if (!recording) {
+            return;
+        }
+        if (status >= 200 && status < 300) {
+            latencies.get(operation).recordValue(nanos);
+        } else {
+            error(operation, String.valueOf(status));
+        }
+    }
+
+    void error(Operation operation, String cause) {
+        if (recording) {
+            errors.computeIfAbsent(operation.label + " " + cause, k -> new LongAdder()).increment();
+        }
+    }
+
+    void start() {
+        latencies.values().forEach(Recorder::reset);
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcAtStart.put(bean.getName(), new long[]{bean.getCollectionCount(), bean.getCollectionTime()});
+        }
+        sampler.scheduleAtFixedRate(() -> saturation.values().forEach(Saturation::sample),
+                0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() throws InterruptedException {
+        recording = false;
+        elapsedNanos = System.nanoTime() - startNanos;
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+        latencies.forEach((operation, recorder) -> measured.put(operation, recorder.getIntervalHistogram()));
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            long[] before = gcAtStart.getOrDefault(bean.getName(), new long[2]);
+            gc.put(bean.getName(), new long[]{bean.getCollectionCount() - before[0], bean.getCollectionTime() - before[1]});
+        }
+    }
+
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.println();
+        out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (var entry : measured.entrySet()) {
+            Histogram h = entry.getValue();
+            if (h.getTotalCount() == 0 && errorCount(entry.getKey()) == 0) {
+                continue;
+            }
+            total += h.getTotalCount();
+            out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey().label,
+                    h.getTotalCount(), errorCount(entry.getKey()), h.getTotalCount() / seconds,
+                    millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1e6);
+        }
+        out.printf("%-16s %9d %7d %9.1f%n", "total", total, errors.values().stream().mapToLong(LongAdder::sum).sum(),
+                total / seconds);
+        errors.forEach((cause, count) -> out.printf("  error %-30s %d%n", cause, count.sum()));
+
+        out.println();
+        gc.forEach((name, d) -> out.printf("GC %-24s %6d collections %8d ms%n", name, d[0], d[1]));
+        saturation.forEach((name, s) -> out.printf("%-27s mean %7.2f  max %5.0f%s%n", name, s.mean(), s.max,
+                s.samples == 0 ? "  (no meter)" : s.limit > 0 ? "  of %.0f".formatted(s.limit) : ""));
+    }
+
+    void write(Path file, LoadSettings settings) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("concurrency", settings.concurrency());
+        config.put("warmup", settings.warmup().toString());
+        config.put("duration", settings.duration().toString());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((operation, weight) -> mix.put(operation.label, weight));
+        config.put("mix", mix);
+        config.put("fileSize", settings.fileSize());
+        config.put("docsPerProtocol", settings.docsPerProtocol());
+        config.put("seedDocuments", settings.seedDocuments());
+        config.put("seedProtocols", settings.seedProtocols());
+        config.put("seed", settings.seed());
+        config.put("storage", settings.storage());
+        config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        config.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        result.put("settings", config);
+        result.put("elapsedSeconds", elapsedNanos / 1e9);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        measured.forEach((operation, h) -> {
+            Map<String, Object> o = new LinkedHashMap<>();
+            o.put("count", h.getTotalCount());
+            o.put("errors", errorCount(operation));
+            o.put("throughput", h.getTotalCount() / (elapsedNanos / 1e9));
+            o.put("p50Ms", millis(h, 50));
+            o.put("p90Ms", millis(h, 90));
+            o.put("p99Ms", millis(h, 99));
+            o.put("p999Ms", millis(h, 99.9));
+            o.put("maxMs", h.getMaxValue() / 1e6);
+            operations.put(operation.label, o);
+        });
+        result.put("operations", operations);
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        errors.forEach((cause, count) -> errorCounts.put(cause, count.sum()));
+        result.put("errors", errorCounts);
+
+        Map<String, Object> gcResult = new LinkedHashMap<>();
+        gc.forEach((name, d) -> gcResult.put(name, Map.of("collections", d[0], "timeMs", d[1])));
+        result.put("gc", gcResult);
+        Map<String, Object> pools = new LinkedHashMap<>();
+        saturation.forEach((name, s) -> pools.put(name, Map.of("mean", s.mean(), "max", s.max, "limit", s.limit)));
+        result.put("saturation", pools);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+    }
+
+    private long errorCount(Operation operation) {
+        return errors.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(operation.label + " "))
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * Mean and max of the sum of all gauges with one name (several pools, e.g. with read replicas, add up).
+     */
+    private final class Saturation {
+        private final String meter;
+        private final String limitMeter;
+        private double sum;
+        private double max;
+        private double limit;
+        private long samples;
+
+        Saturation(String meter, String limitMeter) {
+            this.meter = meter;
+            this.limitMeter = limitMeter;
+        }
+
+        void sample() {
+            var gauges = registry.find(meter).gauges();
+            if (gauges.isEmpty()) {
+                return;
+            }
+            double value = gauges.stream().mapToDouble(Gauge::value).sum();
+            sum += value;
+            max = Math.max(max, value);
+            samples++;
+            if (limitMeter != null) {
+                limit = registry.find(limitMeter).gauges().stream().mapToDouble(Gauge::value).sum();
+            }
+        }
+
+        double mean() {
+            return samples == 0 ? 0 : sum / samples;
+        }
+    }
+}
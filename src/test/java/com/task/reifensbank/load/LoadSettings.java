@@ -0,0 +1,73 @@
+package com.task.reifensbank.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link LoadBenchmark} parameters, from {@code --name=value} arguments; everything has a default so two runs
+ * with the same arguments do the same work.
+ *
+ * @param concurrency     closed-loop clients, each waiting for its response before sending the next request
+ * @param warmup          load before measuring (JIT, pools, caches); its results are discarded
+ * @param duration        measured load
+ * @param mix             relative weight per {@link Operation}
+ * @param fileSize        bytes per uploaded document
+ * @param docsPerProtocol documents linked by each created protocol
+ * @param seedDocuments   documents uploaded before the warm-up; protocols link and reads target these
+ * @param seedProtocols   protocols created before the warm-up; state updates and reads target these
+ * @param seed            seed of every random choice, per client
+ * @param storage         {@code memory} or {@code filesystem}, see {@link LoadStandInConfig}
+ * @param output          JSON result file
+ */
+record LoadSettings(int concurrency,
+                    Duration warmup,
+                    Duration duration,
+                    Map<Operation, Integer> mix,
+                    int fileSize,
+                    int docsPerProtocol,
+                    int seedDocuments,
+                    int seedProtocols,
+                    long seed,
+                    String storage,
+                    Path output) {
+
+    static LoadSettings parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadSettings settings = new LoadSettings(
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Duration.parse(values.getOrDefault("warmup", "PT20S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                parseMix(values.getOrDefault("mix", "upload=20,protocol-create=10,state-update=30,protocol-read=25,document-list=15")),
+                Integer.parseInt(values.getOrDefault("file-size", "65536")),
+                Integer.parseInt(values.getOrDefault("docs-per-protocol", "5")),
+                Integer.parseInt(values.getOrDefault("seed-documents", "200")),
+                Integer.parseInt(values.getOrDefault("seed-protocols", "50")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("storage", "memory"),
+                Path.of(values.getOrDefault("output", "target/load/results.json")));
+        values.keySet().removeAll(Set.of("concurrency", "warmup", "duration", "mix", "file-size",
+                "docs-per-protocol", "seed-documents", "seed-protocols", "seed", "storage", "output"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + values.keySet());
+        }
+        return settings;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] kv = entry.trim().split("=");
+            weights.put(Operation.byName(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,29 @@
+package com.task.reifensbank.load;
+
+import com.task.reifensbank.service.storage.StorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+
+/**
+ * Replaces MinIO for {@link LoadBenchmark}: {@code load.storage=memory} (default) or {@code filesystem}
+ * (under {@code load.storage-path}). The bean still goes through {@code MetricsConfig}, so storage latency is
+ * observed like in production.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LoadStandInConfig {
+
+    @Bean
+    @Primary
+    StorageService loadStorageService(@Value("${load.storage:memory}") String storage,
+                                      @Value("${load.storage-path:target/load/storage}") Path path) {
+        return switch (storage) {
+            case "memory" -> new InMemoryStorageService();
+            case "filesystem" -> new FileSystemStorageService(path.toAbsolutePath());
+            default -> throw new IllegalArgumentException("load.storage must be memory or filesystem, was " + storage);
+        };
+    }
+}
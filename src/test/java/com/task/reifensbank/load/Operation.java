@@ -0,0 +1,34 @@
+package com.task.reifensbank.load;
+
+import java.util.Arrays;
+
+/**
+ * Requests of the {@link LoadBenchmark} mix. Document downloads are not part of it while
+ * {@code GET /documents/{id}/content} answers 501.
+ */
+enum Operation {
+    /** {@code POST /documents}, multipart, as {@code editor_doc} */
+    UPLOAD("upload"),
+    /** {@code POST /protocols} linking {@code docs-per-protocol} seeded documents, as {@code protocol_master} */
+    PROTOCOL_CREATE("protocol-create"),
+    /** {@code PATCH /protocols/{id}/state} of a seeded protocol */
+    STATE_UPDATE("state-update"),
+    /** {@code GET /protocols/{id}} of a seeded protocol */
+    PROTOCOL_READ("protocol-read"),
+    /** {@code GET /documents}, first page, as {@code editor_doc} */
+    DOCUMENT_LIST("document-list");
+
+    final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    static Operation byName(String label) {
+        return Arrays.stream(values())
+                .filter(o -> o.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + label + "', expected one of "
+                        + Arrays.stream(values()).map(o -> o.label).toList()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.task.reifensbank.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLogFilterTest {
+
+    final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    final Logger access = (Logger) LoggerFactory.getLogger("access");
+
+    @BeforeEach
+    void attach() {
+        appender.start();
+        access.addAppender(appender);
+        access.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void detach() {
+        access.detachAppender(appender);
+        access.setLevel(null);
+    }
+
+    @Test
+    void logsStatusLatencyBytes_withCorrelationIdFromHeader() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents");
+        request.addHeader(AccessLogFilter.REQUEST_ID_HEADER, "req-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> mdcInChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            mdcInChain.set(MDC.get(AccessLogFilter.CORRELATION_ID));
+            res.getOutputStream().write(new byte[42]);
+        });
+
+        assertThat(mdcInChain.get()).isEqualTo("req-123");
+        assertThat(MDC.get(AccessLogFilter.CORRELATION_ID)).isNull();
+        assertThat(response.getHeader(AccessLogFilter.REQUEST_ID_HEADER)).isEqualTo("req-123");
+
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.get(0);
+        Map<String, Object> kv = event.getKeyValuePairs().stream()
+                .collect(Collectors.toMap(p -> p.key, p -> p.value));
+        assertThat(kv).containsEntry("status", 200).containsEntry("bytes", 42L).containsEntry("path", "/documents");
+        assertThat(kv).containsKey("durationMs");
+        assertThat(event.getMDCPropertyMap()).containsEntry(AccessLogFilter.CORRELATION_ID, "req-123");
+    }
+
+    @Test
+    void malformedRequestId_isReplaced() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents");
+        request.addHeader(AccessLogFilter.REQUEST_ID_HEADER, "bad id\nwith newline");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+        });
+
+        assertThat(response.getHeader(AccessLogFilter.REQUEST_ID_HEADER)).hasSize(36);
+    }
+
+    @Test
+    void successesAreSampled_errorsAlwaysLogged() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/documents"), new MockHttpServletResponse(), (req, res) -> {
+        });
+        filter.doFilter(new MockHttpServletRequest("GET", "/documents/x"), new MockHttpServletResponse(), (req, res) ->
+                ((jakarta.servlet.http.HttpServletResponse) res).setStatus(404));
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getKeyValuePairs()).extracting(p -> p.value).contains(404);
+    }
+
+    @Test
+    void exceptionFromChain_isLoggedAs500_andRethrown() {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0);
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/documents"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("boom");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getKeyValuePairs()).extracting(p -> p.value).contains(500);
+        assertThat(MDC.get(AccessLogFilter.CORRELATION_ID)).isNull();
+    }
+}
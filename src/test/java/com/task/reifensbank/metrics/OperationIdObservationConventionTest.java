@@ -0,0 +1,44 @@
+package com.task.reifensbank.metrics;
+
+import com.task.reifensbank.controller.AuthController;
+import com.task.reifensbank.model.LoginRequest;
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OperationIdObservationConventionTest {
+
+    final OperationIdObservationConvention convention = new OperationIdObservationConvention();
+
+    @Test
+    void operationTag_isTheApiMethodName() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(
+                mock(AuthController.class), AuthController.class.getMethod("authLogin", LoginRequest.class)));
+
+        assertThat(convention.getLowCardinalityKeyValues(context(request)))
+                .contains(KeyValue.of(OperationIdObservationConvention.OPERATION, "authLogin"));
+    }
+
+    @Test
+    void operationTag_isNone_withoutHandler() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents/3f1c2a4e-0000-7000-8000-000000000000");
+
+        assertThat(convention.getLowCardinalityKeyValues(context(request)))
+                .contains(KeyValue.of(OperationIdObservationConvention.OPERATION, "none"))
+                .noneMatch(kv -> kv.getValue().contains("3f1c2a4e"));
+    }
+
+    private static ServerRequestObservationContext context(MockHttpServletRequest request) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        context.setResponse(new MockHttpServletResponse());
+        return context;
+    }
+}
@@ -0,0 +1,94 @@
+package com.task.reifensbank.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrRecordingsTest {
+
+    @TempDir
+    Path dir;
+
+    JfrRecordings recordings;
+
+    @AfterEach
+    void close() {
+        recordings.closeAll();
+    }
+
+    @Test
+    void startStopDownloadDelete_withApplicationEvents() throws Exception {
+        recordings = new JfrRecordings(dir, Duration.ofMinutes(1), 1, Duration.ZERO, false, Duration.ZERO, DataSize.ofMegabytes(1));
+
+        JfrRecordings.RecordingInfo started = recordings.start("default", Duration.ofSeconds(30));
+        assertThat(recordings.list()).extracting(JfrRecordings.RecordingInfo::state).containsExactly("RUNNING");
+
+        StorageTransferEvent event = new StorageTransferEvent();
+        event.operation = "put";
+        event.bytes = 42;
+        event.commit();
+
+        assertThat(recordings.stop(started.id())).get().extracting(JfrRecordings.RecordingInfo::state).isEqualTo("CLOSED");
+        Path copy = dir.resolve("copy.jfr");
+        try (InputStream in = recordings.open(started.id()).orElseThrow()) {
+            Files.copy(in, copy);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(copy);
+        assertThat(events).anySatisfy(e -> {
+            assertThat(e.getEventType().getName()).isEqualTo("com.task.reifensbank.StorageTransfer");
+            assertThat(e.getLong("bytes")).isEqualTo(42);
+        });
+
+        assertThat(recordings.delete(started.id())).isTrue();
+        assertThat(recordings.list()).isEmpty();
+        assertThat(recordings.open(started.id())).isEmpty();
+    }
+
+    @Test
+    void runningRecording_isDownloadedAsSnapshot_thatIsRemovedOnClose() throws Exception {
+        recordings = new JfrRecordings(dir, Duration.ofMinutes(1), 1, Duration.ZERO, false, Duration.ZERO, DataSize.ofMegabytes(1));
+        String id = recordings.start("default", Duration.ofSeconds(30)).id();
+
+        try (InputStream in = recordings.open(id).orElseThrow()) {
+            assertThat(in.readNBytes(4)).isEqualTo("FLR\0".getBytes());
+        }
+
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(p -> p.getFileName().toString())).noneMatch(name -> name.startsWith("snapshot-"));
+        }
+    }
+
+    @Test
+    void limits_areEnforced() throws Exception {
+        recordings = new JfrRecordings(dir, Duration.ofMinutes(1), 1, Duration.ZERO, false, Duration.ZERO, DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> recordings.start("everything", Duration.ofSeconds(10))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recordings.start("default", Duration.ofHours(1))).isInstanceOf(IllegalArgumentException.class);
+        recordings.start("default", Duration.ofSeconds(10));
+        assertThatThrownBy(() -> recordings.start("profile", Duration.ofSeconds(10))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void continuousRecording_canBeDumpedButNotDeleted() throws Exception {
+        recordings = new JfrRecordings(dir, Duration.ofMinutes(1), 1, Duration.ZERO, true, Duration.ofMinutes(5), DataSize.ofMegabytes(16));
+        recordings.startContinuous();
+
+        assertThat(recordings.list()).extracting(JfrRecordings.RecordingInfo::id).containsExactly(JfrRecordings.CONTINUOUS);
+        try (InputStream in = recordings.open(JfrRecordings.CONTINUOUS).orElseThrow()) {
+            assertThat(in.readNBytes(4)).isEqualTo("FLR\0".getBytes());
+        }
+        assertThat(recordings.delete(JfrRecordings.CONTINUOUS)).isFalse();
+    }
+}
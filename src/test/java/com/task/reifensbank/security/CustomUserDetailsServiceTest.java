@@ -0,0 +1,114 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.entity.Authority;
+import com.task.reifensbank.entity.Role;
+import com.task.reifensbank.entity.User;
+import com.task.reifensbank.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    UserRepository users;
+    @Mock
+    PlatformTransactionManager txManager;
+
+    UserDetailsCache cache = new UserDetailsCache(true, 100, Duration.ofMinutes(10));
+
+    CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CustomUserDetailsService(users, cache, txManager);
+    }
+
+    @Test
+    void loadUserByUsername_mapsEntityGetters_toUserDetails() {
+        when(users.findByUsername("john")).thenReturn(Optional.of(john(0)));
+
+        UserDetails details = service.loadUserByUsername("john");
+
+        assertThat(details.getUsername()).isEqualTo("john");
+        assertThat(details.getPassword()).isEqualTo("{noop}secret");
+        assertThat(details.isEnabled()).isTrue();
+        assertThat(details.isAccountNonLocked()).isTrue();
+        assertThat(details.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_DOC_READ", "VIEW_DOCUMENT");
+    }
+
+    @Test
+    void loadUserByUsername_cached_returnsFreshCopy_untilNewerVersionIsAnnounced() {
+        when(users.findByUsername("john")).thenReturn(Optional.of(john(3)));
+
+        UserDetails first = service.loadUserByUsername("john");
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = service.loadUserByUsername("john");
+
+        assertThat(second.getPassword()).isEqualTo("{noop}secret");
+        assertThat(second).isInstanceOfSatisfying(AppUserDetails.class, d -> assertThat(d.getUserId()).isEqualTo(7L));
+        verify(users, times(1)).findByUsername("john");
+
+        UserSecurityNotificationListener.apply(cache, "john:3");
+        service.loadUserByUsername("john");
+        verify(users, times(1)).findByUsername("john");
+
+        UserSecurityNotificationListener.apply(cache, "john:4");
+        service.loadUserByUsername("john");
+        verify(users, times(2)).findByUsername("john");
+
+        UserSecurityNotificationListener.apply(cache, "john");
+        service.loadUserByUsername("john");
+        verify(users, times(3)).findByUsername("john");
+    }
+
+    @Test
+    void loadUserByUsername_unknownUser_throws() {
+        when(users.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void getterChain_skipsMissingAndNullGetters_inDeclaredOrder() {
+        Role role = new Role();
+        role.setName("fallback-name");
+
+        assertThat(GetterChain.of("getLogin", "getCodeName", "getName").firstString(role)).isEqualTo("fallback-name");
+        assertThat(GetterChain.of("isEnabled").first(role)).isNull();
+    }
+
+    private static User john(long securityVersion) {
+        Authority view = new Authority();
+        view.setCodeName("VIEW_DOCUMENT");
+        Role reader = new Role();
+        reader.setCodeName("DOC_READ");
+        reader.setName("Document reader");
+        reader.getAuthorities().add(view);
+        User john = new User();
+        john.setId(7L);
+        john.setUsername("john");
+        john.setPasswordHash("{noop}secret");
+        john.getRoles().add(reader);
+        john.setSecurityVersion(securityVersion);
+        return john;
+    }
+}
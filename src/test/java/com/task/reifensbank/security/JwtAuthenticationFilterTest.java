@@ -0,0 +1,141 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    final JwtService jwtService = new JwtService("0123456789abcdef0123456789abcdef", 3600, "test", 100);
+
+    @Mock
+    UserDetailsService userDetailsService;
+
+    @Mock
+    RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void clearCtx() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsMode_buildsPrincipalFromToken_withoutDbLookup() throws Exception {
+        JwtAuthenticationFilter filter = filter("claims", "DELETE /documents/*");
+
+        filter.doFilter(request("GET", "/documents/123"), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth.getName()).isEqualTo("john");
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_DOC_READ", "VIEW_DOCUMENT");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void claimsMode_principalCarriesUserIdClaim() throws Exception {
+        JwtAuthenticationFilter filter = filter("claims");
+        String token = jwtService.generate(UsernamePasswordAuthenticationToken.authenticated(
+                new AppUserDetails(42L, "john", "", true, true, List.of()), null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents/123");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(AppUserDetails.class, p -> assertThat(p.getUserId()).isEqualTo(42L));
+    }
+
+    @Test
+    void claimsMode_revalidatedRoute_loadsUserFromDb() throws Exception {
+        JwtAuthenticationFilter filter = filter("claims", "DELETE /documents/*");
+        when(userDetailsService.loadUserByUsername("john")).thenReturn(dbUser());
+
+        filter.doFilter(request("DELETE", "/documents/123"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService).loadUserByUsername("john");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("VIEW_DOCUMENT");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"POST,/documents", "DELETE,/documents/123", "POST,/protocols", "PUT,/protocols/123",
+            "PATCH,/protocols/123/state"})
+    void claimsMode_defaultRevalidatedWrites_rejectDeletedUser(String method, String uri) {
+        JwtAuthenticationFilter filter = filter("claims", JwtAuthenticationFilter.DEFAULT_REVALIDATE.split(","));
+        when(userDetailsService.loadUserByUsername("john")).thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertThatThrownBy(() -> filter.doFilter(request(method, uri), new MockHttpServletResponse(), new MockFilterChain()))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void revokedToken_isRejected_inClaimsMode() throws Exception {
+        TokenRevocationList revocations = revocations();
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService, revocations, "claims", new String[0]);
+        MockHttpServletRequest request = request("GET", "/documents/123");
+        revocations.revokeToken(jwtService.parse(request.getHeader("Authorization").substring(7)).getPayload());
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain()))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void databaseMode_alwaysLoadsUserFromDb() throws Exception {
+        JwtAuthenticationFilter filter = filter("database");
+        when(userDetailsService.loadUserByUsername("john")).thenReturn(dbUser());
+
+        filter.doFilter(request("GET", "/documents/123"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService).loadUserByUsername("john");
+    }
+
+    private JwtAuthenticationFilter filter(String mode, String... revalidate) {
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, revocations(), mode, revalidate);
+    }
+
+    private TokenRevocationList revocations() {
+        return new TokenRevocationList(revokedTokenRepository, 1000, 0.01, Duration.ofMinutes(1), Duration.ofSeconds(1), 3600);
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        String token = jwtService.generate(new UsernamePasswordAuthenticationToken("john", null,
+                List.of(new SimpleGrantedAuthority("ROLE_DOC_READ"), new SimpleGrantedAuthority("VIEW_DOCUMENT"))));
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static User dbUser() {
+        return new User("john", "hash", List.of(new SimpleGrantedAuthority("VIEW_DOCUMENT")));
+    }
+}
@@ -0,0 +1,60 @@
+package com.task.reifensbank.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    final JwtService jwt = new JwtService(SECRET, 3600, "test", 100);
+
+    @Test
+    void parse_reusesVerifiedClaims_andCountsHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwt.bindTo(registry);
+        String token = jwt.generate(auth());
+
+        Jws<Claims> first = jwt.parse(token);
+        Jws<Claims> second = jwt.parse(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getPayload().getSubject()).isEqualTo("john");
+        assertThat(second.getPayload().get(JwtService.SCOPE_CLAIM, String.class)).isEqualTo("VIEW_DOCUMENT");
+        assertThat(registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void parse_tamperedToken_isRejected_evenAfterOriginalWasCached() {
+        String token = jwt.generate(auth());
+        jwt.parse(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwt.parse(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void parse_expiredToken_isRejected() {
+        JwtService expired = new JwtService(SECRET, -10, "test", 100);
+        String token = expired.generate(auth());
+
+        assertThatThrownBy(() -> jwt.parse(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static UsernamePasswordAuthenticationToken auth() {
+        return new UsernamePasswordAuthenticationToken("john", null, List.of(new SimpleGrantedAuthority("VIEW_DOCUMENT")));
+    }
+}
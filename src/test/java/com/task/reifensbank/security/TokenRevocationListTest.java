@@ -0,0 +1,151 @@
+package com.task.reifensbank.security;
+
+import com.task.reifensbank.entity.RevokedToken;
+import com.task.reifensbank.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    RevokedTokenRepository repository;
+
+    final Instant now = Instant.now();
+
+    @Test
+    void revokedToken_isFound_otherTokensAreNot() {
+        TokenRevocationList list = list();
+        Claims revoked = claims("john", now.minusSeconds(10));
+
+        list.revokeToken(revoked);
+
+        verify(repository).upsert(eq("j:" + revoked.getId()), any(), any());
+        assertThat(list.isRevoked(revoked)).isTrue();
+        assertThat(list.isRevoked(claims("john", now.minusSeconds(10)))).isFalse();
+    }
+
+    @Test
+    void revokedSubject_rejectsOnlyTokensIssuedBefore() {
+        TokenRevocationList list = list();
+
+        list.revokeSubject("john");
+
+        assertThat(list.isRevoked(claims("john", now.minusSeconds(60)))).isTrue();
+        assertThat(list.isRevoked(claims("john", now.plusSeconds(5)))).isFalse();
+        assertThat(list.isRevoked(claims("jane", now.minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void revokedSubject_comparesInWholeSeconds_withinClockTolerance() {
+        TokenRevocationList list = list();
+        Instant revokedAt = OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(30).toInstant();
+        when(repository.findLiveRevokedSince(any(), any())).thenReturn(List.of(
+                row("s:john", revokedAt, revokedAt.plusSeconds(3600))));
+
+        list.refresh();
+
+        Instant revokedSecond = revokedAt.truncatedTo(ChronoUnit.SECONDS);
+        assertThat(list.isRevoked(claims("john", revokedSecond))).isTrue();
+        assertThat(list.isRevoked(claims("john", revokedSecond.plusSeconds(1)))).isTrue();
+        assertThat(list.isRevoked(claims("john", revokedSecond.plusSeconds(2)))).isFalse();
+    }
+
+    @Test
+    void refresh_mirrorsRowsFromOtherNodes_andDropsExpiredOnes() {
+        TokenRevocationList list = list();
+        Claims live = claims("john", now.minusSeconds(10));
+        Claims expiring = claims("jane", now.minusSeconds(10));
+        when(repository.findLiveRevokedSince(any(), any())).thenReturn(List.of(
+                row("j:" + live.getId(), now.plusSeconds(600)),
+                row("j:" + expiring.getId(), now.plusMillis(50))));
+
+        list.refresh();
+
+        assertThat(list.isRevoked(live)).isTrue();
+        assertThat(list.isRevoked(expiring)).isTrue();
+
+        when(repository.findLiveRevokedSince(any(), any())).thenReturn(List.of());
+        sleep(100);
+        list.refresh();
+
+        assertThat(list.isRevoked(live)).isTrue();
+        assertThat(list.isRevoked(expiring)).isFalse();
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegatives_andFewFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        List<String> members = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        members.forEach(m -> filter.put(TokenRevocationList.TOKEN, m));
+
+        assertThat(members).allMatch(m -> filter.mightContain(TokenRevocationList.TOKEN, m));
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(TokenRevocationList.TOKEN, UUID.randomUUID().toString()))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void bloomFilter_keepsKindsApart() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+
+        filter.put(TokenRevocationList.TOKEN, "john");
+
+        assertThat(filter.mightContain(TokenRevocationList.TOKEN, "john")).isTrue();
+        assertThat(filter.mightContain(TokenRevocationList.SUBJECT, "john")).isFalse();
+    }
+
+    private TokenRevocationList list() {
+        return new TokenRevocationList(repository, 1000, 0.01, Duration.ofMinutes(1), Duration.ofSeconds(1), 3600);
+    }
+
+    private static Claims claims(String subject, Instant issuedAt) {
+        return Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(3600)))
+                .build();
+    }
+
+    private RevokedToken row(String key, Instant expiresAt) {
+        return row(key, now, expiresAt);
+    }
+
+    private static RevokedToken row(String key, Instant revokedAt, Instant expiresAt) {
+        RevokedToken t = new RevokedToken();
+        t.setTokenKey(key);
+        t.setRevokedAt(OffsetDateTime.ofInstant(revokedAt, ZoneOffset.UTC));
+        t.setExpiresAt(OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC));
+        return t;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.task.reifensbank.service;
+
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import com.task.reifensbank.model.LoginRequest;
+import com.task.reifensbank.model.LoginResponse;
+import com.task.reifensbank.security.JwtService;
+import com.task.reifensbank.security.TokenRevocationList;
+import com.task.reifensbank.service.auth.LastLoginRecorder;
+import com.task.reifensbank.service.auth.LoginThrottle;
+import com.task.reifensbank.service.auth.RefreshTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    final AuthenticationManager authManager = mock(AuthenticationManager.class);
+    final RefreshTokenService refreshTokens = mock(RefreshTokenService.class);
+    final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    final TokenRevocationList revocations = mock(TokenRevocationList.class);
+    final LastLoginRecorder lastLogin = mock(LastLoginRecorder.class);
+    final JwtService jwt = new JwtService("0123456789abcdef0123456789abcdef", 3600, "test", 100);
+
+    ThreadPoolTaskExecutor executor;
+    AuthService service;
+
+    @BeforeEach
+    void setUp() {
+        // a real queue: back-to-back logins must not race the single worker returning to the queue
+        executor = executor(10);
+        service = new AuthService(authManager, jwt, refreshTokens, userDetailsService,
+                new LoginThrottle(Duration.ofMinutes(5), 3, 100), revocations, lastLogin, executor, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void login_returnsAccessAndRefreshToken() {
+        when(authManager.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated("john", null, List.of(new SimpleGrantedAuthority("VIEW_DOCUMENT"))));
+        when(refreshTokens.issue("john")).thenReturn(new RefreshTokenService.Issued("john", "refresh", 60));
+
+        LoginResponse response = service.login(request("john"), "10.0.0.1");
+
+        assertThat(jwt.parse(response.getAccessToken()).getPayload().getSubject()).isEqualTo("john");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh");
+        assertThat(response.getRefreshExpiresIn()).isEqualTo(60);
+        verify(lastLogin).record(eq("john"), any());
+    }
+
+    @Test
+    void login_badCredentials_is401() {
+        when(authManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+
+        assertThatThrownBy(() -> service.login(request("john"), "10.0.0.1"))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting(e -> ((ReifensbankHttpException) e).getStatus())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void login_overUserLimit_is429_withoutHashing() {
+        when(authManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> service.login(request("john"), "10.0.0.1")).isInstanceOf(ReifensbankHttpException.class);
+        }
+
+        assertThatThrownBy(() -> service.login(request("john"), "10.0.0.1"))
+                .extracting(e -> ((ReifensbankHttpException) e).getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void login_hashingPoolSaturated_is503() throws Exception {
+        ThreadPoolTaskExecutor saturated = executor(0);
+        service = new AuthService(authManager, jwt, refreshTokens, userDetailsService,
+                new LoginThrottle(Duration.ofMinutes(5), 3, 100), revocations, lastLogin, saturated, Duration.ofSeconds(2));
+        CountDownLatch release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            assertThatThrownBy(() -> service.login(request("john"), "10.0.0.1"))
+                    .extracting(e -> ((ReifensbankHttpException) e).getStatus())
+                    .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void refresh_rotatesAndLoadsUserWithoutHashing() {
+        rotatesTo("john");
+        when(userDetailsService.loadUserByUsername("john")).thenReturn(
+                User.withUsername("john").password("").authorities("VIEW_DOCUMENT").build());
+
+        LoginResponse response = service.refresh("old");
+
+        assertThat(response.getRefreshToken()).isEqualTo("new");
+        assertThat(jwt.parse(response.getAccessToken()).getPayload().get(JwtService.SCOPE_CLAIM, String.class))
+                .isEqualTo("VIEW_DOCUMENT");
+    }
+
+    @Test
+    void refresh_disabledAccount_isRejectedInsideRotation() {
+        rotatesTo("john");
+        when(userDetailsService.loadUserByUsername("john")).thenReturn(
+                User.withUsername("john").password("").authorities("VIEW_DOCUMENT").disabled(true).build());
+
+        assertThatThrownBy(() -> service.refresh("old"))
+                .extracting(e -> ((ReifensbankHttpException) e).getStatus())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void login_successesDoNotUseUpClientLimit() {
+        when(authManager.authenticate(any())).thenAnswer(invocation -> UsernamePasswordAuthenticationToken.authenticated(
+                ((UsernamePasswordAuthenticationToken) invocation.getArgument(0)).getName(), null, List.of()));
+        when(refreshTokens.issue(any())).thenReturn(new RefreshTokenService.Issued("john", "refresh", 60));
+        service = new AuthService(authManager, jwt, refreshTokens, userDetailsService,
+                new LoginThrottle(Duration.ofMinutes(5), 3, 2), revocations, lastLogin, executor, Duration.ofSeconds(2));
+
+        for (int i = 0; i < 5; i++) {
+            service.login(request("user" + i), "10.0.0.1");
+        }
+    }
+
+    @Test
+    void logout_revokesRefreshSessionAndAccessToken() {
+        String access = jwt.generate(UsernamePasswordAuthenticationToken.authenticated("john", null, List.of()));
+
+        service.logout("refresh", access);
+
+        verify(refreshTokens).revoke("refresh");
+        verify(revocations).revokeToken(argThat(c -> c.getId() != null && "john".equals(c.getSubject())));
+    }
+
+    private static ThreadPoolTaskExecutor executor(int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Rotation that runs the account check the way the real service does, before issuing the successor.
+     */
+    @SuppressWarnings("unchecked")
+    private void rotatesTo(String username) {
+        when(refreshTokens.rotate(eq("old"), any())).thenAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArgument(1)).accept(username);
+            return new RefreshTokenService.Issued(username, "new", 60);
+        });
+    }
+
+    private static LoginRequest request(String username) {
+        return new LoginRequest().username(username).password("secret");
+    }
+}
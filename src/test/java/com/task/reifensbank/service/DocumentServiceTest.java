@@ -6,7 +6,11 @@ import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.repository.DocumentRepository;
 import com.task.reifensbank.repository.UserRepository;
+import com.task.reifensbank.repository.projection.DocumentListFilter;
+import com.task.reifensbank.service.event.DocumentContentStoredEvent;
+import com.task.reifensbank.service.event.DocumentDeletedEvent;
 import com.task.reifensbank.service.storage.StorageService;
+import com.task.reifensbank.util.PageCursor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +19,16 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +46,8 @@ class DocumentServiceTest {
     UserRepository userRepository;
     @Mock
     StorageService storage;
+    @Mock
+    ApplicationEventPublisher events;
 
     @InjectMocks
     DocumentService service;
@@ -58,7 +68,8 @@ class DocumentServiceTest {
         User john = new User();
         john.setId(42L);
         john.setUsername("john");
-        when(userRepository.findByUsername("john")).thenReturn(Optional.of(john));
+        when(userRepository.findIdByUsername("john")).thenReturn(Optional.of(42L));
+        when(userRepository.getReferenceById(42L)).thenReturn(john);
 
         String objectKey = "documents/11111111-1111-1111-1111-111111111111.pdf";
         when(storage.buildObjectKey(anyString(), eq("pdf"))).thenReturn(objectKey);
@@ -91,6 +102,7 @@ class DocumentServiceTest {
         assertThat(firstSavedArg.getStoragePath()).isEqualTo(objectKey);
         assertThat(firstSavedArg.getUploadedBy()).isEqualTo(john);
         assertThat(firstSavedArg.getPublicId()).isNotNull();
+        assertThat(firstSavedArg.getPublicId().version()).isEqualTo(7);
 
         assertThat(result.getId()).isEqualTo(100L);
         assertThat(result.getPublicId()).isEqualTo(saved.getPublicId());
@@ -99,6 +111,8 @@ class DocumentServiceTest {
         InOrder inOrder = inOrder(storage, documentRepository);
         inOrder.verify(storage).put(eq(objectKey), eq(file));
         inOrder.verify(documentRepository).save(any(Document.class));
+
+        verify(events).publishEvent(new DocumentContentStoredEvent(firstSavedArg.getPublicId(), objectKey, "pdf"));
     }
 
     @Test
@@ -141,7 +155,7 @@ class DocumentServiceTest {
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken("john", "N/A")
         );
-        when(userRepository.findByUsername("john")).thenReturn(Optional.empty());
+        when(userRepository.findIdByUsername("john")).thenReturn(Optional.empty());
 
         String objectKey = "documents/33333333-3333-3333-3333-333333333333.pdf";
         when(storage.buildObjectKey(anyString(), eq("pdf"))).thenReturn(objectKey);
@@ -153,6 +167,47 @@ class DocumentServiceTest {
                 .isInstanceOf(ReifensbankRuntimeException.class);
 
         verify(storage).delete(objectKey);
+        verifyNoInteractions(events);
+    }
+
+    // ---------- UPDATE METADATA ----------
+
+    @Test
+    void updateMetadata_typeChanged_publishesContentStoredEventForReindexing() {
+        UUID id = UUID.fromString("77777777-7777-7777-7777-777777777777");
+        Document existing = new Document();
+        existing.setId(9L);
+        existing.setPublicId(id);
+        existing.setFilename("notes.bin");
+        existing.setContentType("bin");
+        existing.setStoragePath("documents/notes.bin");
+
+        when(documentRepository.findByPublicId(id)).thenReturn(Optional.of(existing));
+        when(documentRepository.save(any(Document.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.updateMetadata(id, new com.task.reifensbank.model.DocumentsUpdateMetadataRequest().type("txt"));
+
+        verify(events).publishEvent(new DocumentContentStoredEvent(id, "documents/notes.bin", "txt"));
+    }
+
+    @Test
+    void updateMetadata_nameOrSameType_publishesNothing() {
+        UUID id = UUID.fromString("66666666-6666-6666-6666-666666666666");
+        Document existing = new Document();
+        existing.setId(8L);
+        existing.setPublicId(id);
+        existing.setFilename("report.pdf");
+        existing.setContentType("pdf");
+        existing.setStoragePath("documents/report.pdf");
+
+        when(documentRepository.findByPublicId(id)).thenReturn(Optional.of(existing));
+        when(documentRepository.save(any(Document.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Document result = service.updateMetadata(id,
+                new com.task.reifensbank.model.DocumentsUpdateMetadataRequest().name("renamed.pdf").type("pdf"));
+
+        assertThat(result.getFilename()).isEqualTo("renamed.pdf");
+        verifyNoInteractions(events);
     }
 
     // ---------- REPLACE CONTENT ----------
@@ -237,9 +292,10 @@ class DocumentServiceTest {
 
         service.delete(id);
 
-        InOrder inOrder = inOrder(storage, documentRepository);
+        InOrder inOrder = inOrder(storage, documentRepository, events);
         inOrder.verify(storage).delete("bucket/key");
         inOrder.verify(documentRepository).delete(doc);
+        inOrder.verify(events).publishEvent(new DocumentDeletedEvent(id));
     }
 
     @Test
@@ -290,4 +346,31 @@ class DocumentServiceTest {
 
         verify(documentRepository, never()).delete(any());
     }
+
+    // ---------- LIST ----------
+
+    @Test
+    void list_resolvesUploaderId_andPassesSeekPosition() {
+        when(userRepository.findIdByUsername("john")).thenReturn(Optional.of(42L));
+        when(documentRepository.findPage(any(DocumentListFilter.class), eq(11))).thenReturn(List.of());
+        PageCursor after = new PageCursor(OffsetDateTime.of(2025, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC), 9L);
+
+        service.list("john", "pdf", null, null, after, 11);
+
+        ArgumentCaptor<DocumentListFilter> cap = ArgumentCaptor.forClass(DocumentListFilter.class);
+        verify(documentRepository).findPage(cap.capture(), eq(11));
+        assertThat(cap.getValue().uploadedById()).isEqualTo(42L);
+        assertThat(cap.getValue().contentType()).isEqualTo("pdf");
+        assertThat(cap.getValue().afterCreatedAt()).isEqualTo(after.createdAt());
+        assertThat(cap.getValue().afterId()).isEqualTo(9L);
+    }
+
+    @Test
+    void list_whenUploaderUnknown_returnsEmpty_withoutQueryingDocuments() {
+        when(userRepository.findIdByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThat(service.list("ghost", null, null, null, null, 10)).isEmpty();
+
+        verify(documentRepository, never()).findPage(any(), anyInt());
+    }
 }
@@ -13,6 +13,8 @@ import com.task.reifensbank.model.ProtocolUpdate;
 import com.task.reifensbank.repository.DocumentRepository;
 import com.task.reifensbank.repository.ProtocolRepository;
 import com.task.reifensbank.repository.UserRepository;
+import com.task.reifensbank.security.AppUserDetails;
+import com.task.reifensbank.service.code.ProtocolCodeGenerator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,12 +26,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +46,8 @@ class ProtocolServiceTest {
     DocumentRepository documentRepository;
     @Mock
     UserRepository userRepository;
+    @Mock
+    ProtocolCodeGenerator codeGenerator;
 
     @InjectMocks
     ProtocolService service;
@@ -75,7 +81,8 @@ class ProtocolServiceTest {
         User john = new User();
         john.setId(10L);
         john.setUsername("john");
-        when(userRepository.findByUsername("john")).thenReturn(Optional.of(john));
+        when(userRepository.findIdByUsername("john")).thenReturn(Optional.of(10L));
+        when(userRepository.getReferenceById(10L)).thenReturn(john);
 
         // docs
         UUID d1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
@@ -86,13 +93,14 @@ class ProtocolServiceTest {
         Document doc2 = new Document();
         doc2.setId(2L);
         doc2.setPublicId(d2);
-        when(documentRepository.findByPublicId(d1)).thenReturn(Optional.of(doc1));
-        when(documentRepository.findByPublicId(d2)).thenReturn(Optional.of(doc2));
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(doc1, doc2));
 
         // request
         ProtocolCreate req = new ProtocolCreate();
         req.setState(ProtocolState.NEW);
-        req.setDocumentIds(java.util.List.of(d1, d2));
+        req.setDocumentIds(List.of(d1, d2));
+
+        when(codeGenerator.next()).thenReturn("PR-00000ZK");
 
         // repo save returns same entity
         when(protocolRepository.save(any(Protocol.class))).thenAnswer(inv -> {
@@ -110,6 +118,7 @@ class ProtocolServiceTest {
         assertThat(savedArg.getCreatedBy()).isEqualTo(john);
         assertThat(savedArg.getUpdatedBy()).isEqualTo(john);
         assertThat(savedArg.getStatus()).isEqualTo(ProtocolStatusEnum.NEW);
+        assertThat(savedArg.getCode()).isEqualTo("PR-00000ZK");
         assertThat(savedArg.getDocuments()).extracting("publicId").containsExactlyInAnyOrder(d1, d2);
 
         assertThat(result.getId()).isEqualTo(99L);
@@ -119,10 +128,10 @@ class ProtocolServiceTest {
     @Test
     void create_happyPath_unauthenticated_creatorNull() {
         UUID d1 = UUID.fromString("33333333-3333-3333-3333-333333333333");
-        when(documentRepository.findByPublicId(d1)).thenReturn(Optional.of(new Document()));
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(document(d1)));
 
         ProtocolCreate req = new ProtocolCreate();
-        req.setDocumentIds(java.util.List.of(d1));
+        req.setDocumentIds(List.of(d1));
 
         when(protocolRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         Protocol p = service.create(req);
@@ -140,7 +149,7 @@ class ProtocolServiceTest {
                 .extracting("status")
                 .isEqualTo(HttpStatus.BAD_REQUEST);
 
-        req.setDocumentIds(java.util.List.of()); // empty
+        req.setDocumentIds(List.of()); // empty
         assertThatThrownBy(() -> service.create(req))
                 .isInstanceOf(ReifensbankHttpException.class)
                 .extracting("status")
@@ -152,11 +161,10 @@ class ProtocolServiceTest {
         UUID existing = UUID.fromString("44444444-4444-4444-4444-444444444444");
         UUID missing = UUID.fromString("55555555-5555-5555-5555-555555555555");
 
-        when(documentRepository.findByPublicId(existing)).thenReturn(Optional.of(new Document()));
-        when(documentRepository.findByPublicId(missing)).thenReturn(Optional.empty());
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(document(existing)));
 
         ProtocolCreate req = new ProtocolCreate();
-        req.setDocumentIds(java.util.List.of(existing, missing));
+        req.setDocumentIds(List.of(existing, missing));
 
         assertThatThrownBy(() -> service.create(req))
                 .isInstanceOf(ReifensbankHttpException.class)
@@ -166,10 +174,10 @@ class ProtocolServiceTest {
     @Test
     void create_whenRepoSaveFails_wraps500() {
         UUID d1 = UUID.fromString("66666666-6666-6666-6666-666666666666");
-        when(documentRepository.findByPublicId(d1)).thenReturn(Optional.of(new Document()));
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(document(d1)));
 
         ProtocolCreate req = new ProtocolCreate();
-        req.setDocumentIds(java.util.List.of(d1));
+        req.setDocumentIds(List.of(d1));
 
         when(protocolRepository.save(any())).thenThrow(new RuntimeException("db down"));
 
@@ -196,19 +204,20 @@ class ProtocolServiceTest {
         doc1.setPublicId(d1);
         Document doc2 = new Document();
         doc2.setPublicId(d2);
-        when(documentRepository.findByPublicId(d1)).thenReturn(Optional.of(doc1));
-        when(documentRepository.findByPublicId(d2)).thenReturn(Optional.of(doc2));
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(doc1, doc2));
 
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken("anna", "N/A")
         );
         User anna = new User();
+        anna.setId(11L);
         anna.setUsername("anna");
-        when(userRepository.findByUsername("anna")).thenReturn(Optional.of(anna));
+        when(userRepository.findIdByUsername("anna")).thenReturn(Optional.of(11L));
+        when(userRepository.getReferenceById(11L)).thenReturn(anna);
 
         ProtocolUpdate req = new ProtocolUpdate();
         req.setState(ProtocolState.PREPARE_FOR_SHIPMENT);
-        req.setDocumentIds(java.util.List.of(d1, d2));
+        req.setDocumentIds(List.of(d1, d2));
 
         when(protocolRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
@@ -230,7 +239,7 @@ class ProtocolServiceTest {
                 .isInstanceOf(ReifensbankHttpException.class)
                 .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
 
-        req.setDocumentIds(java.util.List.of());
+        req.setDocumentIds(List.of());
         assertThatThrownBy(() -> service.updateAll(pid, req))
                 .isInstanceOf(ReifensbankHttpException.class)
                 .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
@@ -244,12 +253,11 @@ class ProtocolServiceTest {
         UUID ok = UUID.fromString("13131313-1313-1313-1313-131313131313");
         UUID missing = UUID.fromString("14141414-1414-1414-1414-141414141414");
 
-        when(documentRepository.findByPublicId(ok)).thenReturn(Optional.of(new Document()));
-        when(documentRepository.findByPublicId(missing)).thenReturn(Optional.empty());
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(document(ok)));
 
         ProtocolUpdate req = new ProtocolUpdate();
         req.setState(ProtocolState.NEW);
-        req.setDocumentIds(java.util.List.of(ok, missing));
+        req.setDocumentIds(List.of(ok, missing));
 
         assertThatThrownBy(() -> service.updateAll(pid, req))
                 .isInstanceOf(ReifensbankHttpException.class)
@@ -265,11 +273,11 @@ class ProtocolServiceTest {
         when(protocolRepository.findByPublicId(pid)).thenReturn(Optional.of(p));
 
         UUID d1 = UUID.fromString("16161616-1616-1616-1616-161616161616");
-        when(documentRepository.findByPublicId(d1)).thenReturn(Optional.of(new Document()));
+        when(documentRepository.findAllByPublicIdIn(any())).thenReturn(List.of(document(d1)));
 
         ProtocolUpdate req = new ProtocolUpdate();
         req.setState(ProtocolState.NEW);
-        req.setDocumentIds(java.util.List.of(d1));
+        req.setDocumentIds(List.of(d1));
 
         when(protocolRepository.save(any())).thenThrow(new RuntimeException("db fail"));
 
@@ -287,12 +295,12 @@ class ProtocolServiceTest {
         p.setPublicId(pid);
         when(protocolRepository.findByPublicId(pid)).thenReturn(Optional.of(p));
 
-        SecurityContextHolder.getContext().setAuthentication(
-                new UsernamePasswordAuthenticationToken("kate", "N/A")
-        );
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new AppUserDetails(12L, "kate", "", true, true, List.of()), null, List.of()));
         User kate = new User();
+        kate.setId(12L);
         kate.setUsername("kate");
-        when(userRepository.findByUsername("kate")).thenReturn(Optional.of(kate));
+        when(userRepository.getReferenceById(12L)).thenReturn(kate);
 
         ProtocolStateUpdate req = new ProtocolStateUpdate();
         req.setState(ProtocolState.CANCELED);
@@ -303,6 +311,8 @@ class ProtocolServiceTest {
 
         assertThat(updated.getStatus()).isEqualTo(ProtocolStatusEnum.CANCELED);
         assertThat(updated.getUpdatedBy()).isEqualTo(kate);
+        verify(userRepository, never()).findIdByUsername(any());
+        verify(userRepository, never()).findByUsername(any());
         assertThat(updated.getUpdatedAt()).isNotNull();
     }
 
@@ -319,4 +329,10 @@ class ProtocolServiceTest {
         assertThatThrownBy(() -> service.updateState(pid, req))
                 .isInstanceOf(ReifensbankRuntimeException.class);
     }
+
+    private static Document document(UUID publicId) {
+        Document d = new Document();
+        d.setPublicId(publicId);
+        return d;
+    }
 }
@@ -0,0 +1,100 @@
+package com.task.reifensbank.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    @Mock
+    JdbcTemplate jdbc;
+    @Mock
+    PlatformTransactionManager txManager;
+
+    LastLoginRecorder recorder;
+    SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new LastLoginRecorder(jdbc, txManager);
+        registry = new SimpleMeterRegistry();
+        recorder.bindTo(registry);
+    }
+
+    @Test
+    void flush_coalescesLoginsIntoOneStatement() throws Exception {
+        Instant t = Instant.parse("2026-01-01T10:00:00Z");
+        recorder.record("john", t);
+        recorder.record("john", t.plusSeconds(5));
+        recorder.record("john", t.plusSeconds(1));
+        recorder.record("jane", t);
+        when(jdbc.update(eq(LastLoginRecorder.UPDATE_SQL), any(PreparedStatementSetter.class))).thenReturn(2);
+
+        recorder.flush();
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbc, times(1)).update(eq(LastLoginRecorder.UPDATE_SQL), setter.capture());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection con = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(con);
+        ArgumentCaptor<Object[]> names = ArgumentCaptor.forClass(Object[].class);
+        ArgumentCaptor<Object[]> millis = ArgumentCaptor.forClass(Object[].class);
+        when(con.createArrayOf(eq("text"), names.capture())).thenReturn(mock(Array.class));
+        when(con.createArrayOf(eq("bigint"), millis.capture())).thenReturn(mock(Array.class));
+        setter.getValue().setValues(ps);
+
+        assertThat(names.getValue()).containsExactlyInAnyOrder("john", "jane");
+        int john = names.getValue()[0].equals("john") ? 0 : 1;
+        assertThat(millis.getValue()[john]).isEqualTo(t.plusSeconds(5).toEpochMilli());
+
+        assertThat(registry.get("auth.last_login.recorded").functionCounter().count()).isEqualTo(4.0);
+        assertThat(registry.get("auth.last_login.written").functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("auth.last_login.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void flush_failure_keepsEntriesForNextAttempt() {
+        recorder.record("john", Instant.now());
+        when(jdbc.update(eq(LastLoginRecorder.UPDATE_SQL), any(PreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+
+        recorder.flush();
+        assertThat(registry.get("auth.last_login.pending").gauge().value()).isEqualTo(1.0);
+
+        recorder.flushOnShutdown();
+        assertThat(registry.get("auth.last_login.pending").gauge().value()).isZero();
+        assertThat(registry.get("auth.last_login.flushes").tag("result", "failure").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void flush_withNothingPending_doesNotTouchDatabase() {
+        recorder.flush();
+
+        verifyNoInteractions(jdbc, txManager);
+    }
+}
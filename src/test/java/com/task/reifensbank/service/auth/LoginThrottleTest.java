@@ -0,0 +1,75 @@
+package com.task.reifensbank.service.auth;
+
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    final LoginThrottle throttle = new LoginThrottle(Duration.ofMinutes(5), 3, 2);
+
+    @Test
+    void userAttemptsOverLimit_is429() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("john", "10.0.0.1");
+        }
+
+        assertTooManyRequests(() -> throttle.acquire("john", "10.0.0.2"));
+    }
+
+    @Test
+    void successfulLogin_resetsUserCounter() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("john", "10.0.0.1");
+        }
+        throttle.reset("john");
+
+        assertThatCode(() -> throttle.acquire("john", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void clientCountsFailuresOnly() {
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThatCode(() -> throttle.acquire("another", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void clientFailuresOverLimit_is429_forEveryUsername() {
+        throttle.failed("10.0.0.1");
+        throttle.failed("10.0.0.1");
+
+        assertTooManyRequests(() -> throttle.acquire("fresh", "10.0.0.1"));
+        assertThatCode(() -> throttle.acquire("fresh", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void clientFailures_surviveSuccessfulLogin() {
+        throttle.failed("10.0.0.1");
+        throttle.failed("10.0.0.1");
+        throttle.reset("john");
+
+        assertTooManyRequests(() -> throttle.acquire("john", "10.0.0.1"));
+    }
+
+    @Test
+    void unknownClientAddress_isOnlyLimitedPerUser() {
+        throttle.failed(null);
+
+        assertThatCode(() -> throttle.acquire("john", null)).doesNotThrowAnyException();
+    }
+
+    private static void assertTooManyRequests(Runnable attempt) {
+        assertThatThrownBy(attempt::run)
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting(e -> ((ReifensbankHttpException) e).getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,127 @@
+package com.task.reifensbank.service.auth;
+
+import com.task.reifensbank.entity.RefreshToken;
+import com.task.reifensbank.entity.User;
+import com.task.reifensbank.exceptions.ReifensbankHttpException;
+import com.task.reifensbank.repository.RefreshTokenRepository;
+import com.task.reifensbank.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    RefreshTokenRepository tokens;
+    @Mock
+    UserRepository users;
+
+    static final Consumer<String> ACCEPT = username -> {
+    };
+
+    RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(tokens, users, Duration.ofDays(14));
+    }
+
+    @Test
+    void issue_storesOnlyHash_andReturnsRawToken() {
+        User user = user();
+        when(users.findIdByUsername("john")).thenReturn(Optional.of(7L));
+        when(users.getReferenceById(7L)).thenReturn(user);
+
+        RefreshTokenService.Issued issued = service.issue("john");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokens).save(saved.capture());
+        assertThat(issued.token()).hasSize(43);
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(RefreshTokenService.hash(issued.token()));
+        assertThat(saved.getValue().getTokenHash()).doesNotContain(issued.token());
+        assertThat(saved.getValue().getUser()).isSameAs(user);
+        assertThat(issued.expiresInSeconds()).isEqualTo(Duration.ofDays(14).toSeconds());
+    }
+
+    @Test
+    void rotate_revokesCurrent_andIssuesSuccessorInSameFamily() {
+        RefreshToken current = stored(null, OffsetDateTime.now().plusDays(1));
+        when(tokens.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(current));
+
+        RefreshTokenService.Issued next = service.rotate("raw", ACCEPT);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokens).save(saved.capture());
+        assertThat(current.getRevokedAt()).isNotNull();
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(current.getFamilyId());
+        assertThat(next.username()).isEqualTo("john");
+        assertThat(next.token()).isNotEqualTo("raw");
+    }
+
+    @Test
+    void rotate_accountCheckFails_consumesTokenWithoutSuccessor() {
+        RefreshToken current = stored(null, OffsetDateTime.now().plusDays(1));
+        when(tokens.findByTokenHash(any())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.rotate("raw", username -> {
+            throw new ReifensbankHttpException(HttpStatus.UNAUTHORIZED, "Account disabled");
+        })).isInstanceOf(ReifensbankHttpException.class);
+        assertThat(current.getRevokedAt()).isNotNull();
+        verify(tokens, never()).save(any());
+    }
+
+    @Test
+    void rotate_reusedToken_revokesWholeFamily() {
+        RefreshToken current = stored(OffsetDateTime.now().minusMinutes(1), OffsetDateTime.now().plusDays(1));
+        when(tokens.findByTokenHash(any())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.rotate("raw", ACCEPT))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting(e -> ((ReifensbankHttpException) e).getStatus())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(tokens).revokeFamily(eq(current.getFamilyId()), any());
+        verify(tokens, never()).save(any());
+    }
+
+    @Test
+    void rotate_expiredToken_isRejected() {
+        when(tokens.findByTokenHash(any())).thenReturn(Optional.of(stored(null, OffsetDateTime.now().minusSeconds(1))));
+
+        assertThatThrownBy(() -> service.rotate("raw", ACCEPT)).isInstanceOf(ReifensbankHttpException.class);
+        verify(tokens, never()).save(any());
+    }
+
+    private static RefreshToken stored(OffsetDateTime revokedAt, OffsetDateTime expiresAt) {
+        RefreshToken t = new RefreshToken();
+        t.setFamilyId(UUID.randomUUID());
+        t.setUser(user());
+        t.setRevokedAt(revokedAt);
+        t.setExpiresAt(expiresAt);
+        return t;
+    }
+
+    private static User user() {
+        User u = new User();
+        u.setUsername("john");
+        return u;
+    }
+}
@@ -0,0 +1,65 @@
+package com.task.reifensbank.service.code;
+
+import com.task.reifensbank.repository.ProtocolRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceProtocolCodeGeneratorTest {
+
+    @Mock
+    ProtocolRepository protocolRepository;
+
+    @InjectMocks
+    SequenceProtocolCodeGenerator generator;
+
+    @Test
+    void encode_isFixedWidthCrockfordBase32() {
+        assertThat(SequenceProtocolCodeGenerator.encode(1)).isEqualTo("PR-0000001");
+        assertThat(SequenceProtocolCodeGenerator.encode(31)).isEqualTo("PR-000000Z");
+        assertThat(SequenceProtocolCodeGenerator.encode(32)).isEqualTo("PR-0000010");
+        assertThat(SequenceProtocolCodeGenerator.encode((1L << 35) - 1)).isEqualTo("PR-ZZZZZZZ");
+        assertThat(SequenceProtocolCodeGenerator.encode(1L << 35)).isEqualTo("PR-10000000");
+    }
+
+    @Test
+    void next_handsOutWholeBlock_beforeReservingTheNextOne() {
+        when(protocolRepository.codeBlockSize()).thenReturn(3L);
+        when(protocolRepository.nextCodeBlock()).thenReturn(1L, 4L);
+
+        List<String> codes = IntStream.range(0, 4).mapToObj(i -> generator.next()).toList();
+
+        assertThat(codes).containsExactly("PR-0000001", "PR-0000002", "PR-0000003", "PR-0000004");
+        verify(protocolRepository, times(2)).nextCodeBlock();
+        verify(protocolRepository).codeBlockSize();
+    }
+
+    @Test
+    void next_isUnique_underContention() {
+        AtomicLong sequence = new AtomicLong(1);
+        when(protocolRepository.codeBlockSize()).thenReturn(50L);
+        when(protocolRepository.nextCodeBlock()).thenAnswer(inv -> sequence.getAndAdd(50));
+
+        ConcurrentLinkedQueue<String> all = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, 8).parallel().forEach(t -> {
+            for (int i = 0; i < 5_000; i++) {
+                all.add(generator.next());
+            }
+        });
+
+        assertThat(List.copyOf(all)).hasSize(40_000).doesNotHaveDuplicates();
+    }
+}
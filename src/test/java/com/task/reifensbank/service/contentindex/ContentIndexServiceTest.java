@@ -0,0 +1,81 @@
+package com.task.reifensbank.service.contentindex;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentIndexServiceTest {
+
+    @TempDir
+    Path dir;
+
+    ContentIndexService index;
+
+    @BeforeEach
+    void open() throws Exception {
+        index = new ContentIndexService(dir.toString(), 60_000);
+        index.open();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void index_thenSearch_returnsMatchingIds_andRespectsAndSemantics() throws Exception {
+        UUID invoice = UUID.randomUUID();
+        UUID contract = UUID.randomUUID();
+        index.index(invoice, "Invoice for tyre delivery, total 1200 EUR");
+        index.index(contract, "Service contract for tyre storage");
+
+        assertThat(index.search("tyre", 10)).containsExactlyInAnyOrder(invoice, contract);
+        assertThat(index.search("tyre delivery", 10)).containsExactly(invoice);
+        assertThat(index.search("tyre -invoice", 10)).containsExactly(contract);
+        assertThat(index.search("stor*", 10)).containsExactly(contract);
+    }
+
+    @Test
+    void index_sameId_replacesPreviousContent() throws Exception {
+        UUID id = UUID.randomUUID();
+        index.index(id, "first version");
+        index.index(id, "second version");
+
+        assertThat(index.search("first", 10)).isEmpty();
+        assertThat(index.search("second", 10)).containsExactly(id);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void delete_removesDocument_andSurvivesReopen() throws Exception {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        index.index(kept, "keep me");
+        index.index(removed, "remove me");
+        index.delete(removed);
+
+        index.close();
+        index = new ContentIndexService(dir.toString(), 60_000);
+        index.open();
+
+        assertThat(index.search("me", 10)).containsExactly(kept);
+    }
+
+    @Test
+    void textExtractor_readsPlainText_andSkipsUnknownFormats() throws Exception {
+        TextExtractor extractor = new TextExtractor(5);
+        byte[] bytes = "hello world".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(extractor.extract("TXT", new ByteArrayInputStream(bytes))).contains("hello");
+        assertThat(extractor.extract("jpg", new ByteArrayInputStream(bytes))).isEmpty();
+        assertThat(extractor.supports("pdf")).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package com.task.reifensbank.service.contentindex;
+
+import com.task.reifensbank.repository.DocumentRepository;
+import com.task.reifensbank.service.event.DocumentContentStoredEvent;
+import com.task.reifensbank.service.event.DocumentDeletedEvent;
+import com.task.reifensbank.service.storage.StorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentIndexerTest {
+
+    ContentIndexService index = mock(ContentIndexService.class);
+    StorageService storage = mock(StorageService.class);
+    ThreadPoolTaskExecutor executor;
+    ContentIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        indexer = new ContentIndexer(index, new TextExtractor(1_000), storage, mock(DocumentRepository.class),
+                mock(PlatformTransactionManager.class), executor, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void deleteQueuedBehindSlowStore_runsAfterIt() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch storeStarted = new CountDownLatch(1);
+        CountDownLatch releaseStore = new CountDownLatch(1);
+        when(storage.get("documents/a.txt")).thenAnswer(inv -> {
+            storeStarted.countDown();
+            releaseStore.await(5, TimeUnit.SECONDS);
+            return new ByteArrayInputStream("tyre".getBytes(StandardCharsets.UTF_8));
+        });
+
+        indexer.onContentStored(new DocumentContentStoredEvent(id, "documents/a.txt", "txt"));
+        assertThat(storeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        indexer.onDeleted(new DocumentDeletedEvent(id));
+        Thread.sleep(100); // a free worker would have run the delete by now
+        releaseStore.countDown();
+
+        verify(index, timeout(5_000)).delete(id);
+        InOrder order = inOrder(index);
+        order.verify(index).index(id, "tyre");
+        order.verify(index).delete(id);
+    }
+
+    @Test
+    void updatesOfDifferentDocuments_runConcurrently() throws Exception {
+        UUID slow = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        when(storage.get("documents/slow.txt")).thenAnswer(inv -> {
+            releaseSlow.await(5, TimeUnit.SECONDS);
+            return new ByteArrayInputStream("slow".getBytes(StandardCharsets.UTF_8));
+        });
+
+        indexer.onContentStored(new DocumentContentStoredEvent(slow, "documents/slow.txt", "txt"));
+        indexer.onDeleted(new DocumentDeletedEvent(other));
+
+        verify(index, timeout(5_000)).delete(other);
+        releaseSlow.countDown();
+        verify(index, timeout(5_000)).index(any(), any());
+    }
+}
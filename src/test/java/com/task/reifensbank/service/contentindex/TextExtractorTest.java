@@ -0,0 +1,67 @@
+package com.task.reifensbank.service.contentindex;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextExtractorTest {
+
+    @Test
+    void extract_pdf_returnsPageText() throws Exception {
+        TextExtractor extractor = new TextExtractor(1_000);
+
+        assertThat(extractor.extract("PDF", new ByteArrayInputStream(pdf("tyre invoice", 2))))
+                .hasValueSatisfying(text -> assertThat(text).contains("tyre invoice 0", "tyre invoice 1"));
+    }
+
+    @Test
+    void extract_pdf_stopsAtMaxChars() throws Exception {
+        TextExtractor extractor = new TextExtractor(20);
+
+        assertThat(extractor.extract("pdf", new ByteArrayInputStream(pdf("a rather long line of text", 50))))
+                .hasValueSatisfying(text -> assertThat(text).hasSize(20).startsWith("a rather long line"));
+    }
+
+    @Test
+    void extract_text_stopsAtMaxChars() throws Exception {
+        TextExtractor extractor = new TextExtractor(5);
+
+        assertThat(extractor.extract("txt", new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8))))
+                .contains("01234");
+    }
+
+    @Test
+    void extract_unsupportedExtension_isEmpty() throws Exception {
+        TextExtractor extractor = new TextExtractor(100);
+
+        assertThat(extractor.supports("docx")).isFalse();
+        assertThat(extractor.extract("docx", new ByteArrayInputStream(new byte[]{1, 2, 3}))).isEmpty();
+    }
+
+    private static byte[] pdf(String line, int pages) throws Exception {
+        try (PDDocument pdf = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage();
+                pdf.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(pdf, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText(line + " " + i);
+                    content.endText();
+                }
+            }
+            pdf.save(out);
+            return out.toByteArray();
+        }
+    }
+}
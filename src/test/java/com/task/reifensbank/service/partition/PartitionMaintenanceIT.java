@@ -0,0 +1,204 @@
+package com.task.reifensbank.service.partition;
+
+import com.task.reifensbank.entity.Document;
+import com.task.reifensbank.repository.DocumentRepository;
+import com.task.reifensbank.repository.ProtocolRepository;
+import com.task.reifensbank.service.storage.StorageService;
+import com.task.reifensbank.support.EmbeddedPostgresInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Key tables of the partitioned {@code document} / {@code protocol} tables (08_partitioning.sql) and their cleanup
+ * by {@link PartitionMaintenanceJob}, against the real schema. Works in January 2001 only, so detaching that
+ * month does not touch the rows of other tests.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+class PartitionMaintenanceIT {
+
+    private static final String OLD = "2001-01-15T10:00:00Z";
+
+    @MockitoBean
+    StorageService storage;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransactionTemplate transactions;
+
+    @Autowired
+    DocumentRepository documentRepository;
+
+    @Autowired
+    ProtocolRepository protocolRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("SELECT create_monthly_partitions('document', '2001-01-01', '2001-01-01')");
+        jdbc.execute("SELECT create_monthly_partitions('protocol', '2001-01-01', '2001-01-01')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : PartitionMaintenanceJob.TABLES) {
+            jdbc.execute("DROP TABLE IF EXISTS %s_2001_01".formatted(table));
+        }
+        jdbc.update("DELETE FROM document_key WHERE created_at < '2002-01-01'");
+        jdbc.update("DELETE FROM protocol_key WHERE created_at < '2002-01-01'");
+    }
+
+    @Test
+    void lookupByPublicId_resolvesPartitionThroughKeyTable() {
+        UUID document = insertDocument(OLD);
+        UUID protocol = insertProtocol(OLD, document);
+
+        assertThat(documentRepository.findByPublicId(document)).hasValueSatisfying(
+                d -> assertThat(d.getCreatedAt().getYear()).isEqualTo(2001));
+        transactions.executeWithoutResult(tx -> assertThat(protocolRepository.findByPublicId(protocol))
+                .hasValueSatisfying(p -> assertThat(p.getDocuments()).hasSize(1)));
+        assertThat(documentRepository.isAttachedToAnyProtocol(document)).isTrue();
+    }
+
+    @Test
+    void batchLookup_scansOnlyThePartitionsOfTheIds() {
+        UUID old = insertDocument(OLD);
+        UUID current = insertDocument(null);
+
+        transactions.executeWithoutResult(tx -> assertThat(documentRepository.findAllByPublicIdIn(List.of(old, current)))
+                .extracting(Document::getPublicId).containsExactlyInAnyOrder(old, current));
+
+        // the xact counters also hold this connection's unflushed earlier transactions, so compare before/after
+        long otherPartitionScans = transactions.execute(tx -> {
+            // tiny tables get a nested loop, which prunes at run time anyway; a large table gets a hash join
+            jdbc.execute("SET LOCAL enable_nestloop = off");
+            long before = otherPartitionScans();
+            documentRepository.findAllByPublicIdIn(List.of(old));
+            return otherPartitionScans() - before;
+        });
+        assertThat(otherPartitionScans).isZero();
+    }
+
+    @Test
+    void keyTrigger_ignoresUpdatesOfNonKeyColumns() {
+        UUID document = insertDocument(OLD);
+
+        // the xact counters also hold this connection's unflushed earlier transactions, so compare before/after
+        long keyUpdates = transactions.execute(tx -> {
+            long before = keyTuplesUpdated();
+            jdbc.update("UPDATE document SET filename = 'renamed.pdf', size_bytes = 2 WHERE public_id = ?", document);
+            return keyTuplesUpdated() - before;
+        });
+
+        assertThat(keyUpdates).isZero();
+    }
+
+    @Test
+    void keyTrigger_followsKeyColumnUpdates() {
+        UUID document = insertDocument(OLD);
+        UUID renumbered = UUID.randomUUID();
+
+        jdbc.update("UPDATE document SET public_id = ? WHERE public_id = ?", renumbered, document);
+
+        assertThat(documentRepository.findByPublicId(document)).isEmpty();
+        assertThat(documentRepository.findByPublicId(renumbered)).isPresent();
+    }
+
+    @Test
+    void detachingExpiredMonths_deletesTheirKeysAndLinks() throws Exception {
+        UUID oldDocument = insertDocument(OLD);
+        UUID oldProtocol = insertProtocol(OLD, oldDocument);
+        UUID current = insertDocument(null);
+        PartitionMaintenanceJob job = new PartitionMaintenanceJob(dataSource, 1, 12);
+
+        for (String table : PartitionMaintenanceJob.TABLES) {
+            job.maintain(table);
+        }
+
+        assertThat(jdbc.queryForObject("SELECT to_regclass('document_2001_01') IS NOT NULL", Boolean.class)).isTrue();
+        assertThat(count("document_key", oldDocument)).isZero();
+        assertThat(count("protocol_key", oldProtocol)).isZero();
+        assertThat(jdbc.queryForObject("""
+                SELECT count(*) FROM protocol_document pd
+                WHERE NOT EXISTS (SELECT 1 FROM protocol_key k WHERE k.id = pd.protocol_id)
+                   OR NOT EXISTS (SELECT 1 FROM document_key k WHERE k.id = pd.document_id)
+                """, Long.class)).isZero();
+        assertThat(count("document_key", current)).isOne();
+        assertThat(documentRepository.findByPublicId(current)).isPresent();
+    }
+
+    @Test
+    void keysOfStillAttachedMonths_areKept() throws Exception {
+        UUID oldDocument = insertDocument(OLD);
+        PartitionMaintenanceJob job = new PartitionMaintenanceJob(dataSource, 1, 12);
+
+        try (Connection con = dataSource.getConnection()) {
+            con.setAutoCommit(true);
+            job.deleteDetachedKeys(con, "document", LocalDate.parse("2002-01-01"));
+        }
+
+        assertThat(count("document_key", oldDocument)).isOne();
+    }
+
+    private UUID insertDocument(String createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+                INSERT INTO document (public_id, filename, content_type, size_bytes, storage_path, created_at)
+                VALUES (?, 'old.pdf', 'application/pdf', 1, 'documents/old.pdf', coalesce(?::timestamptz, now()))
+                """, id, createdAt);
+        return id;
+    }
+
+    private UUID insertProtocol(String createdAt, UUID document) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO protocol (public_id, code, status, created_at) VALUES (?, ?, 'NEW', ?::timestamptz)",
+                id, "IT-" + id, createdAt);
+        jdbc.update("""
+                INSERT INTO protocol_document (protocol_id, document_id)
+                SELECT p.id, d.id FROM protocol_key p, document_key d WHERE p.public_id = ? AND d.public_id = ?
+                """, id, document);
+        return id;
+    }
+
+    private long keyTuplesUpdated() {
+        return jdbc.queryForObject("SELECT pg_stat_get_xact_tuples_updated('document_key'::regclass)", Long.class);
+    }
+
+    /**
+     * Sequential plus index scans (a table's own counter holds only the sequential ones) of the other partitions.
+     */
+    private long otherPartitionScans() {
+        return jdbc.queryForObject("""
+                SELECT coalesce(sum(pg_stat_get_xact_numscans(i.inhrelid)), 0)
+                     + coalesce(sum((SELECT sum(pg_stat_get_xact_numscans(x.indexrelid))
+                                     FROM pg_index x WHERE x.indrelid = i.inhrelid)), 0)
+                FROM pg_inherits i
+                WHERE i.inhparent = 'document'::regclass AND i.inhrelid <> 'document_2001_01'::regclass
+                """, Long.class);
+    }
+
+    private long count(String keyTable, UUID publicId) {
+        return jdbc.queryForObject("SELECT count(*) FROM %s WHERE public_id = ?".formatted(keyTable), Long.class, publicId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.task.reifensbank.service.storage;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ObservedStorageServiceTest {
+
+    @Mock
+    StorageService delegate;
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final ObservationRegistry observations = ObservationRegistry.create();
+
+    @BeforeEach
+    void meterHandler() {
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+    }
+
+    @Test
+    void put_recordsSuccessTimer_andReturnsDelegateResult() throws Exception {
+        ObservedStorageService storage = new ObservedStorageService(delegate, observations);
+        when(delegate.put(any(), any())).thenReturn("etag");
+
+        String result = storage.put("documents/a.pdf", new MockMultipartFile("file", "x".getBytes()));
+
+        assertThat(result).isEqualTo("etag");
+        assertThat(registry.get(ObservedStorageService.METRIC).tag("operation", "put").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void delete_failure_isRecordedAsError_andRethrown() throws Exception {
+        ObservedStorageService storage = new ObservedStorageService(delegate, observations);
+        doThrow(new IOException("minio down")).when(delegate).delete("documents/a.pdf");
+
+        assertThatThrownBy(() -> storage.delete("documents/a.pdf")).isInstanceOf(IOException.class);
+
+        assertThat(registry.get(ObservedStorageService.METRIC).tag("operation", "delete").tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+}
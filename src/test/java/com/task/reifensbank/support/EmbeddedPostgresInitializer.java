@@ -0,0 +1,73 @@
+package com.task.reifensbank.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Points the context at a PostgreSQL 16 process started once per JVM and initialised with
+ * {@code docker/postgres/init/*.sql}, in order – the same schema and seed as the Docker stack.
+ */
+public class EmbeddedPostgresInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final Path INIT_SCRIPTS = Path.of("docker", "postgres", "init");
+
+    private static EmbeddedPostgres postgres;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        EmbeddedPostgres pg = postgres();
+        TestPropertyValues.of(
+                "spring.datasource.url=" + pg.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=postgres"
+        ).applyTo(context);
+    }
+
+    private static synchronized EmbeddedPostgres postgres() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+                initSchema(postgres);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Applying " + INIT_SCRIPTS + " failed", e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // the JVM is going away anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+
+    private static void initSchema(EmbeddedPostgres pg) throws IOException, SQLException {
+        List<Path> scripts;
+        try (Stream<Path> files = Files.list(INIT_SCRIPTS)) {
+            scripts = files.filter(p -> p.toString().endsWith(".sql")).sorted().toList();
+        }
+        try (Connection connection = pg.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Path script : scripts) {
+                // the driver sends a multi-statement script as one simple query, $$ bodies included
+                statement.execute(Files.readString(script));
+            }
+        }
+    }
+}
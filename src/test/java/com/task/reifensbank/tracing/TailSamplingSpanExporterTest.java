@@ -0,0 +1,104 @@
+package com.task.reifensbank.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanExporterTest {
+
+    final List<SpanData> exported = new ArrayList<>();
+    SdkTracerProvider provider;
+
+    @AfterEach
+    void close() {
+        provider.close();
+    }
+
+    @Test
+    void fastSuccessfulTrace_isDropped_whenRatioIsZero() {
+        Tracer tracer = tracer(0.0);
+
+        trace(tracer, 10, StatusCode.UNSET);
+
+        assertThat(exported).isEmpty();
+    }
+
+    @Test
+    void slowTrace_isExportedWithAllItsSpans() {
+        Tracer tracer = tracer(0.0);
+
+        trace(tracer, 1_500, StatusCode.UNSET);
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("child", "root");
+    }
+
+    @Test
+    void failedChild_keepsFastTrace_andLateSpansFollowTheDecision() {
+        Tracer tracer = tracer(0.0);
+
+        Span root = trace(tracer, 10, StatusCode.ERROR);
+        tracer.spanBuilder("late").setParent(Context.root().with(root)).startSpan().end();
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("child", "root", "late");
+    }
+
+    @Test
+    void ratioOne_exportsEverything() {
+        Tracer tracer = tracer(1.0);
+
+        trace(tracer, 10, StatusCode.UNSET);
+
+        assertThat(exported).hasSize(2);
+    }
+
+    private Span trace(Tracer tracer, long rootMillis, StatusCode childStatus) {
+        long start = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        Span root = tracer.spanBuilder("root").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.root().with(root))
+                .setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        child.setStatus(childStatus);
+        child.end(start + 1_000, TimeUnit.NANOSECONDS);
+        root.end(start + TimeUnit.MILLISECONDS.toNanos(rootMillis), TimeUnit.NANOSECONDS);
+        return root;
+    }
+
+    private Tracer tracer(double ratio) {
+        SpanExporter collecting = new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                exported.addAll(spans);
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+        TailSamplingSpanExporter exporter = new TailSamplingSpanExporter(
+                collecting, ratio, Duration.ofSeconds(1), Duration.ofMinutes(1), 100);
+        provider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        return provider.get("test");
+    }
+}
@@ -4,7 +4,12 @@ import com.task.reifensbank.entity.Document;
 import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.mappers.DocumentMappers;
+import com.task.reifensbank.model.DocumentPage;
+import com.task.reifensbank.model.DocumentSearchPage;
+import com.task.reifensbank.repository.projection.DocumentSearchRow;
+import com.task.reifensbank.repository.projection.DocumentSummary;
 import com.task.reifensbank.service.DocumentService;
+import com.task.reifensbank.util.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -14,6 +19,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,7 +57,7 @@ class DocumentsAppServiceTest {
         mapped.setType("pdf");
 
         try (MockedStatic<DocumentMappers> mapperMock = Mockito.mockStatic(DocumentMappers.class)) {
-            mapperMock.when(() -> DocumentMappers.toModel(entity)).thenReturn(mapped);
+            mapperMock.when(() -> DocumentMappers.toModel(entity, null)).thenReturn(mapped);
 
 
             ResponseEntity<com.task.reifensbank.model.Document> resp =
@@ -66,7 +74,7 @@ class DocumentsAppServiceTest {
             assertThat(resp.getBody().getType()).isEqualTo("pdf");
 
             verify(documentService, times(1)).create(file, "sample", "pdf");
-            mapperMock.verify(() -> DocumentMappers.toModel(entity), times(1));
+            mapperMock.verify(() -> DocumentMappers.toModel(entity, null), times(1));
         }
     }
 
@@ -407,4 +415,106 @@ class DocumentsAppServiceTest {
                 .extracting("status").isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    // ---------- LIST ----------
+
+    @Test
+    void list_whenMoreRowsThanLimit_trimsPage_andReturnsCursorOfLastRow() {
+        OffsetDateTime t = OffsetDateTime.of(2025, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        DocumentSummary r1 = new DocumentSummary(3L, UUID.randomUUID(), "c", "pdf", "john", t.plusMinutes(2));
+        DocumentSummary r2 = new DocumentSummary(2L, UUID.randomUUID(), "b", "pdf", "john", t.plusMinutes(1));
+        DocumentSummary r3 = new DocumentSummary(1L, UUID.randomUUID(), "a", "pdf", "john", t);
+        when(documentService.list("john", "pdf", null, null, null, 3)).thenReturn(List.of(r1, r2, r3));
+
+        ResponseEntity<DocumentPage> resp = appService.list("john", "pdf", null, null, 2, null);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody().getItems()).extracting("id").containsExactly(r1.publicId(), r2.publicId());
+        PageCursor next = PageCursor.decode(resp.getBody().getNextCursor());
+        assertThat(next.id()).isEqualTo(2L);
+        assertThat(next.createdAt().toInstant()).isEqualTo(r2.createdAt().toInstant());
+    }
+
+    @Test
+    void list_lastPage_hasNoCursor_andForwardsDecodedCursor() {
+        PageCursor after = new PageCursor(OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 123_000, ZoneOffset.UTC), 77L);
+        when(documentService.list(isNull(), isNull(), isNull(), isNull(), eq(after), eq(51))).thenReturn(List.of());
+
+        ResponseEntity<DocumentPage> resp = appService.list(null, null, null, null, null, after.encode());
+
+        assertThat(resp.getBody().getItems()).isEmpty();
+        assertThat(resp.getBody().getNextCursor()).isNull();
+    }
+
+    @Test
+    void list_whenLimitOutOfRange_returns400() {
+        assertThatThrownBy(() -> appService.list(null, null, null, null, 0, null))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> appService.list(null, null, null, null, 201, null))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void list_whenCursorMalformed_returns400() {
+        assertThatThrownBy(() -> appService.list(null, null, null, null, 10, "not-a-cursor"))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(documentService);
+    }
+
+    // ---------- SEARCH ----------
+
+    @Test
+    void search_fetchesOneExtraRow_andReportsHasNext() {
+        DocumentSearchRow a = new DocumentSearchRow(UUID.randomUUID(), "invoice-1.pdf", "pdf", "john", OffsetDateTime.now(), 0.9);
+        DocumentSearchRow b = new DocumentSearchRow(UUID.randomUUID(), "invoice-2.pdf", "pdf", "jane", OffsetDateTime.now(), 0.5);
+        DocumentSearchRow c = new DocumentSearchRow(UUID.randomUUID(), "invoices.csv", "csv", "john", OffsetDateTime.now(), 0.1);
+        when(documentService.search("invoice", 2, 3)).thenReturn(List.of(a, b, c));
+
+        ResponseEntity<DocumentSearchPage> resp = appService.search("  invoice ", 1, 2);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody().getItems()).extracting("name").containsExactly("invoice-1.pdf", "invoice-2.pdf");
+        assertThat(resp.getBody().getItems()).extracting("createdBy").containsExactly("john", "jane");
+        assertThat(resp.getBody().getHasNext()).isTrue();
+        assertThat(resp.getBody().getPage()).isEqualTo(1);
+        assertThat(resp.getBody().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void search_lastPage_hasNoNext() {
+        DocumentSearchRow a = new DocumentSearchRow(UUID.randomUUID(), "invoice-1.pdf", "pdf", "john", OffsetDateTime.now(), 0.9);
+        when(documentService.search("invoice", 0, 21)).thenReturn(List.of(a));
+
+        ResponseEntity<DocumentSearchPage> resp = appService.search("invoice", null, null);
+
+        assertThat(resp.getBody().getItems()).hasSize(1);
+        assertThat(resp.getBody().getHasNext()).isFalse();
+    }
+
+    @Test
+    void search_whenQueryTooShort_returns400() {
+        assertThatThrownBy(() -> appService.search(" ab ", null, null))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void search_whenPagingBeyondWindow_returns400() {
+        assertThatThrownBy(() -> appService.search("invoice", 10, 100))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void search_whenServiceFails_returns500() {
+        when(documentService.search("invoice", 0, 21)).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> appService.search("invoice", null, null))
+                .isInstanceOf(ReifensbankRuntimeException.class);
+    }
 }
@@ -4,10 +4,13 @@ import com.task.reifensbank.entity.Protocol;
 import com.task.reifensbank.exceptions.ReifensbankHttpException;
 import com.task.reifensbank.exceptions.ReifensbankRuntimeException;
 import com.task.reifensbank.mappers.ProtocolMappers;
+import com.task.reifensbank.enums.ProtocolStatusEnum;
 import com.task.reifensbank.model.ProtocolCreate;
+import com.task.reifensbank.model.ProtocolSearchPage;
 import com.task.reifensbank.model.ProtocolState;
 import com.task.reifensbank.model.ProtocolStateUpdate;
 import com.task.reifensbank.model.ProtocolUpdate;
+import com.task.reifensbank.repository.projection.ProtocolSearchRow;
 import com.task.reifensbank.service.ProtocolService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.net.URI;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -265,4 +269,38 @@ class ProtocolsAppServiceTest {
         assertThatThrownBy(() -> appService.updateState(id, req))
                 .isInstanceOf(ReifensbankRuntimeException.class);
     }
+
+    // -------------------- SEARCH --------------------
+
+    @Test
+    void search_fetchesOneExtraRow_andReportsHasNext() {
+        ProtocolSearchRow a = new ProtocolSearchRow(UUID.randomUUID(), "PR-1", "Shipment", ProtocolStatusEnum.NEW, OffsetDateTime.now(), 0.9);
+        ProtocolSearchRow b = new ProtocolSearchRow(UUID.randomUUID(), "PR-2", "Shipment 2", ProtocolStatusEnum.CANCELED, OffsetDateTime.now(), 0.5);
+        ProtocolSearchRow c = new ProtocolSearchRow(UUID.randomUUID(), "PR-3", "Ship", ProtocolStatusEnum.NEW, OffsetDateTime.now(), 0.1);
+        when(protocolService.search("ship", 2, 3)).thenReturn(List.of(a, b, c));
+
+        ResponseEntity<ProtocolSearchPage> resp = appService.search("  ship ", 1, 2);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody().getItems()).extracting("code").containsExactly("PR-1", "PR-2");
+        assertThat(resp.getBody().getItems()).extracting("state").containsExactly(ProtocolState.NEW, ProtocolState.CANCELED);
+        assertThat(resp.getBody().getHasNext()).isTrue();
+        assertThat(resp.getBody().getPage()).isEqualTo(1);
+    }
+
+    @Test
+    void search_whenQueryTooShort_returns400() {
+        assertThatThrownBy(() -> appService.search("ab", null, null))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(protocolService);
+    }
+
+    @Test
+    void search_whenPagingBeyondWindow_returns400() {
+        assertThatThrownBy(() -> appService.search("invoice", 10, 100))
+                .isInstanceOf(ReifensbankHttpException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(protocolService);
+    }
 }
@@ -0,0 +1,26 @@
+package com.task.reifensbank.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LikePatternsTest {
+
+    @Test
+    void contains_wrapsTermInWildcards() {
+        assertThat(LikePatterns.contains("invoice")).isEqualTo("%invoice%");
+    }
+
+    @Test
+    void contains_escapesWildcardsAndEscapeCharacter() {
+        assertThat(LikePatterns.contains("100%")).isEqualTo("%100\\%%");
+        assertThat(LikePatterns.contains("file_1")).isEqualTo("%file\\_1%");
+        assertThat(LikePatterns.contains("C:\\docs")).isEqualTo("%C:\\\\docs%");
+        assertThat(LikePatterns.contains("%_\\")).isEqualTo("%\\%\\_\\\\%");
+    }
+
+    @Test
+    void contains_emptyTerm_matchesEverything() {
+        assertThat(LikePatterns.contains("")).isEqualTo("%%");
+    }
+}
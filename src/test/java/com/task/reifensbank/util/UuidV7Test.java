@@ -0,0 +1,56 @@
+package com.task.reifensbank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The generator state is JVM-wide: timestamps fed in here never run ahead of the clock, or every later id of the
+ * test JVM would carry that future time.
+ */
+class UuidV7Test {
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        long now = System.currentTimeMillis();
+        UUID id = UuidV7.next(now);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(now, now + 1_000);
+    }
+
+    @Test
+    void next_isStrictlyIncreasing_withinOneMillisecond_andWhenClockStepsBack() {
+        long now = System.currentTimeMillis();
+        UUID first = UuidV7.next(now);
+        UUID second = UuidV7.next(now);
+        UUID third = UuidV7.next(now - 5_000);
+
+        assertThat(second.toString()).isGreaterThan(first.toString());
+        assertThat(third.toString()).isGreaterThan(second.toString());
+    }
+
+    @Test
+    void next_isUniqueAndOrderedPerThread_underContention() {
+        ConcurrentLinkedQueue<UUID> all = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, 8).parallel().forEach(t -> {
+            UUID prev = null;
+            for (int i = 0; i < 10_000; i++) {
+                UUID id = UuidV7.next();
+                if (prev != null) {
+                    assertThat(id.toString()).isGreaterThan(prev.toString());
+                }
+                prev = id;
+                all.add(id);
+            }
+        });
+
+        assertThat(List.copyOf(all)).doesNotHaveDuplicates().hasSize(80_000);
+    }
+}